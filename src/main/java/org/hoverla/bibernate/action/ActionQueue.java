@@ -0,0 +1,159 @@
+package org.hoverla.bibernate.action;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hoverla.bibernate.util.EntityKey;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Write actions of a session waiting for the flush.
+ * Actions are executed in the order of their priority (inserts, updates, deletes). Inside each priority
+ * they follow the foreign key dependencies between entities: parents are inserted before their children
+ * and children are deleted before their parents. Actions of the same level are grouped by entity type,
+ * keeping the order in which they were added, so consecutive actions of the same kind and entity type
+ * are executed as one JDBC batch.
+ */
+@Slf4j
+public class ActionQueue {
+    private final List<EntityAction> actions = new ArrayList<>();
+    private final ToIntFunction<Class<?>> dependencyLevels;
+
+    public ActionQueue() {
+        this(entityType -> 0);
+    }
+
+    /**
+     * @param dependencyLevels resolves the level of an entity type in the foreign key graph,
+     *                         see {@link org.hoverla.bibernate.metadata.MetadataRegistry#getDependencyLevel(Class)}
+     */
+    public ActionQueue(ToIntFunction<Class<?>> dependencyLevels) {
+        this.dependencyLevels = dependencyLevels;
+    }
+
+    public void add(EntityAction action) {
+        actions.add(action);
+    }
+
+    public boolean isEmpty() {
+        return actions.isEmpty();
+    }
+
+    public int size() {
+        return actions.size();
+    }
+
+    public void clear() {
+        actions.clear();
+    }
+
+    /**
+     * Merges the queued actions of the same entity, so each entity gets at most one statement per flush:
+     * <ul>
+     *     <li>insert followed by updates becomes one insert of the final state</li>
+     *     <li>insert followed by delete is dropped altogether</li>
+     *     <li>repeated updates become one update, update followed by delete becomes the delete</li>
+     *     <li>updates and deletes following a delete are dropped, the entity is deleted once</li>
+     * </ul>
+     * Entities whose id is not generated yet are told apart by their transient keys.
+     *
+     * @param keyResolver resolves the key identifying the entity of an action
+     */
+    public void coalesce(Function<Object, EntityKey<?>> keyResolver) {
+        var coalesced = new ArrayList<EntityAction>(actions.size());
+        var positions = new HashMap<EntityKey<?>, Integer>();
+        var cancelledKeys = new HashSet<EntityKey<?>>();
+        for (var action : actions) {
+            var key = keyResolver.apply(action.getEntity());
+            var position = positions.get(key);
+            if (position == null) {
+                if (cancelledKeys.contains(key) && !(action instanceof EntityInsertAction)) {
+                    continue;
+                }
+                cancelledKeys.remove(key);
+                positions.put(key, coalesced.size());
+                coalesced.add(action);
+                continue;
+            }
+            var pending = coalesced.get(position);
+            if (action instanceof EntityInsertAction) {
+                positions.put(key, coalesced.size());
+                coalesced.add(action);
+            } else if (pending instanceof EntityInsertAction pendingInsert) {
+                if (action instanceof EntityDeleteAction) {
+                    coalesced.set(position, null);
+                    positions.remove(key);
+                    cancelledKeys.add(key);
+                } else {
+                    coalesced.set(position, pendingInsert.withEntity(action.getEntity()));
+                }
+            } else if (pending instanceof EntityUpdateAction) {
+                coalesced.set(position, action);
+            } else if (pending instanceof EntityDeleteAction) {
+                log.debug("Dropping {} of deleted entity {}", action.getClass().getSimpleName(), key);
+            }
+        }
+        var removed = actions.size();
+        actions.clear();
+        coalesced.stream().filter(Objects::nonNull).forEach(actions::add);
+        log.trace("Coalesced {} actions into {}", removed, actions.size());
+    }
+
+    /**
+     * Executes and removes all the queued actions
+     */
+    public void executeAll() {
+        var sortedActions = new ArrayList<>(actions);
+        actions.clear();
+        sortedActions.sort(flushOrder(sortedActions));
+        int groupStart = 0;
+        while (groupStart < sortedActions.size()) {
+            var first = sortedActions.get(groupStart);
+            int groupEnd = groupStart + 1;
+            while (groupEnd < sortedActions.size() && first.isBatchableWith(sortedActions.get(groupEnd))) {
+                groupEnd++;
+            }
+            execute(sortedActions.subList(groupStart, groupEnd));
+            groupStart = groupEnd;
+        }
+    }
+
+    private Comparator<EntityAction> flushOrder(List<EntityAction> actionsToSort) {
+        var levels = new HashMap<Class<?>, Integer>();
+        var typeOrder = new HashMap<List<Object>, Integer>();
+        for (var action : actionsToSort) {
+            var entityType = action.getEntity().getClass();
+            levels.computeIfAbsent(entityType, dependencyLevels::applyAsInt);
+            typeOrder.putIfAbsent(typeOrderKey(action), typeOrder.size());
+        }
+        return Comparator.comparingInt(EntityAction::priority)
+            .thenComparingInt(action -> {
+                var level = levels.get(action.getEntity().getClass());
+                return action instanceof EntityDeleteAction ? -level : level;
+            })
+            .thenComparingInt(action -> typeOrder.get(typeOrderKey(action)));
+    }
+
+    /**
+     * Entity types are ordered by their first action of the same priority
+     */
+    private List<Object> typeOrderKey(EntityAction action) {
+        return List.of(action.priority(), action.getEntity().getClass());
+    }
+
+    private void execute(List<EntityAction> group) {
+        var first = group.get(0);
+        if (group.size() == 1) {
+            first.execute();
+            return;
+        }
+        log.trace("Executing {} {} actions as a batch", group.size(), first.getClass().getSimpleName());
+        first.executeBatch(group.stream().map(EntityAction::getEntity).toList());
+    }
+}
@@ -1,10 +1,30 @@
 package org.hoverla.bibernate.action;
 
+import java.util.List;
+
 /**
  * Interface for actions relating to insert/update/delete of an entity instance.
  */
 public interface EntityAction {
     void execute();
 
+    /**
+     * Executes this kind of action for all the given entities of the same type,
+     * sending their statements to the database in JDBC batches.
+     *
+     * @param entities entities of this action and of the following ones of the same kind
+     */
+    void executeBatch(List<Object> entities);
+
     int priority();
+
+    Object getEntity();
+
+    /**
+     * Checks whether the other action can be sent in the same JDBC batch as this one,
+     * i.e. it is of the same kind and it targets the same entity type.
+     */
+    default boolean isBatchableWith(EntityAction other) {
+        return getClass() == other.getClass() && getEntity().getClass() == other.getEntity().getClass();
+    }
 }
@@ -1,10 +1,14 @@
 package org.hoverla.bibernate.action;
 
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import org.hoverla.bibernate.session.EntityPersister;
 
+import java.util.List;
+
 @RequiredArgsConstructor
 public class EntityDeleteAction implements EntityAction {
+    @Getter
     private final Object entity;
     private final EntityPersister persister;
 
@@ -13,6 +17,11 @@ public class EntityDeleteAction implements EntityAction {
         persister.delete(entity);
     }
 
+    @Override
+    public void executeBatch(List<Object> entities) {
+        persister.deleteAll(entities);
+    }
+
     @Override
     public int priority() {
         return EntityActionPriority.DELETE.getPriority();
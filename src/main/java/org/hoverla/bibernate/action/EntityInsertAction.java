@@ -1,10 +1,14 @@
 package org.hoverla.bibernate.action;
 
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import org.hoverla.bibernate.session.EntityPersister;
 
+import java.util.List;
+
 @RequiredArgsConstructor
 public class EntityInsertAction implements EntityAction {
+    @Getter
     private final Object entity;
     private final EntityPersister persister;
 
@@ -13,6 +17,18 @@ public class EntityInsertAction implements EntityAction {
         persister.insert(entity);
     }
 
+    @Override
+    public void executeBatch(List<Object> entities) {
+        persister.insertAll(entities);
+    }
+
+    /**
+     * Creates the same insert for another instance holding the final state of the entity
+     */
+    public EntityInsertAction withEntity(Object finalState) {
+        return new EntityInsertAction(finalState, persister);
+    }
+
     @Override
     public int priority() {
         return EntityActionPriority.INSERT.getPriority();
@@ -0,0 +1,24 @@
+package org.hoverla.bibernate.annotation;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Used on {@link ManyToOne} and {@link OneToOne} fields to set how many related entities are loaded
+ * by one {@code IN (...)} query, and on {@link OneToMany} fields to set how many collections of different
+ * owners are initialized together. Overrides the batch fetch size of the configuration.
+ */
+@Target({FIELD})
+@Retention(RUNTIME)
+public @interface BatchSize {
+
+    /**
+     * Allows to set the maximum number of ids per query.
+     *
+     * @return batch size
+     */
+    int size();
+}
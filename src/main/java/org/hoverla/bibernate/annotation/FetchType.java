@@ -0,0 +1,15 @@
+package org.hoverla.bibernate.annotation;
+
+/**
+ * Defines when the related entity of an association is loaded.
+ */
+public enum FetchType {
+    /**
+     * The related entity is loaded together with the owning entity
+     */
+    EAGER,
+    /**
+     * A proxy holding only the id is set, the related entity is loaded on the first access
+     */
+    LAZY
+}
@@ -0,0 +1,39 @@
+package org.hoverla.bibernate.annotation;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Used together with {@link Id} to let the id be generated instead of being assigned by the application.
+ */
+@Target({FIELD})
+@Retention(RUNTIME)
+public @interface GeneratedValue {
+
+    /**
+     * Allows to choose how the id is generated.
+     *
+     * @return generation strategy
+     */
+    GenerationType strategy() default GenerationType.IDENTITY;
+
+    /**
+     * Allows to set the database sequence used by {@link GenerationType#SEQUENCE}.
+     * By default it is {@code <table>_<id column>_seq}, the sequence PostgreSQL creates for a {@code SERIAL} id.
+     *
+     * @return sequence name
+     */
+    String sequenceName() default "";
+
+    /**
+     * Allows to set how many ids are reserved by one call of the sequence.
+     * The sequence must be incremented by the same value, e.g. {@code CREATE SEQUENCE ... INCREMENT BY 50}.
+     * The default of 1 matches sequences created with the default increment, such as those of {@code SERIAL}.
+     *
+     * @return allocation size
+     */
+    int allocationSize() default 1;
+}
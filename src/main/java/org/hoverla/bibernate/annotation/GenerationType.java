@@ -0,0 +1,16 @@
+package org.hoverla.bibernate.annotation;
+
+/**
+ * Strategies of id generation
+ */
+public enum GenerationType {
+    /**
+     * The id is assigned by the database on insert (e.g. {@code SERIAL} column) and read back after it
+     */
+    IDENTITY,
+    /**
+     * The id is taken from a database sequence when the entity is persisted.
+     * Ids are reserved in blocks of {@link GeneratedValue#allocationSize()}, so the sequence is called once per block
+     */
+    SEQUENCE
+}
@@ -12,4 +12,11 @@ import static java.lang.annotation.RetentionPolicy.RUNTIME;
 @Target({FIELD})
 @Retention(RUNTIME)
 public @interface ManyToOne {
+
+    /**
+     * Allows to load the related entity lazily, on the first access to the proxy set into the field.
+     *
+     * @return fetch type
+     */
+    FetchType fetch() default FetchType.EAGER;
 }
\ No newline at end of file
@@ -11,6 +11,10 @@ public class LazyList<T> implements List<T> {
         this.supplierDelegate = supplierDelegate;
     }
 
+    public boolean isInitialized() {
+        return delagateList != null;
+    }
+
     public List<T> getProxyList() {
         if(delagateList == null) {
             delagateList = (List<T>) supplierDelegate.get();
@@ -11,6 +11,13 @@ import java.util.Objects;
  * Configuration API used to configure datasource as to create SessionFactory
  */
 public interface Configuration {
+    int DEFAULT_JDBC_BATCH_SIZE = 50;
+    int DEFAULT_MULTI_ROW_INSERT_SIZE = 1;
+    int DEFAULT_MAX_STATEMENT_PARAMETERS = 32767;
+    int DEFAULT_IN_CLAUSE_SIZE = 500;
+    int DEFAULT_BATCH_FETCH_SIZE = 100;
+    int DEFAULT_FETCH_SIZE = 500;
+
     /**
      Returns the URL of the data source.
      @return the URL of the data source as a String
@@ -48,6 +55,51 @@ public interface Configuration {
      */
     ConnPoolProviderType getPoolProvider();
     boolean isAutoDdl();
+    /**
+
+     Returns the packages scanned for entities when the session factory is built.
+     @return comma separated package names, or null if nothing should be scanned
+     */
+    String getEntityPackageToScan();
+    /**
+
+     Returns the maximum number of statements sent to the database in one JDBC batch on flush.
+     Batching is turned off when the value is not greater than one.
+     @return the batch size as an Integer
+     */
+    Integer getJdbcBatchSize();
+    /**
+
+     Returns the maximum number of rows inserted by one multi-row {@code INSERT ... VALUES (...),(...)} statement.
+     Pending inserts of one entity are sent as separate rows when the value is not greater than one.
+     @return the number of rows as an Integer
+     */
+    Integer getMultiRowInsertSize();
+    /**
+
+     Returns the maximum number of bind parameters of a single statement, which limits multi-row inserts.
+     @return the number of parameters as an Integer
+     */
+    Integer getMaxStatementParameters();
+    /**
+
+     Returns the maximum number of values of an {@code IN (...)} list, longer lists are split into chunks.
+     @return the number of values as an Integer
+     */
+    Integer getInClauseSize();
+    /**
+
+     Returns the maximum number of related entities loaded by one {@code IN (...)} query
+     when the {@code @ManyToOne}/{@code @OneToOne} associations of a result set are resolved.
+     @return the number of ids as an Integer
+     */
+    Integer getBatchFetchSize();
+    /**
+
+     Returns the number of rows fetched from the database at once when query results are streamed.
+     @return the number of rows as an Integer
+     */
+    Integer getFetchSize();
     /**
 
      Builds a session factory based on the configuration settings.
@@ -32,6 +32,48 @@ public class DefaultConfiguration implements Configuration {
     @Builder.Default
     private ConnPoolProviderType poolProvider = ConnPoolProviderType.HIKARI;
 
+    /**
+     The maximum number of statements sent in one JDBC batch.
+     The default value is 50.
+     */
+    @Builder.Default
+    private Integer jdbcBatchSize = DEFAULT_JDBC_BATCH_SIZE;
+
+    /**
+     The maximum number of rows of a multi-row insert.
+     The default value is 1, i.e. multi-row inserts are turned off.
+     */
+    @Builder.Default
+    private Integer multiRowInsertSize = DEFAULT_MULTI_ROW_INSERT_SIZE;
+
+    /**
+     The maximum number of bind parameters of a statement.
+     The default value is 32767.
+     */
+    @Builder.Default
+    private Integer maxStatementParameters = DEFAULT_MAX_STATEMENT_PARAMETERS;
+
+    /**
+     The maximum number of values of an IN list.
+     The default value is 500.
+     */
+    @Builder.Default
+    private Integer inClauseSize = DEFAULT_IN_CLAUSE_SIZE;
+
+    /**
+     The maximum number of related entities loaded by one query.
+     The default value is 100.
+     */
+    @Builder.Default
+    private Integer batchFetchSize = DEFAULT_BATCH_FETCH_SIZE;
+
+    /**
+     The number of rows fetched at once by streamed queries.
+     The default value is 500.
+     */
+    @Builder.Default
+    private Integer fetchSize = DEFAULT_FETCH_SIZE;
+
     @Override
     public SessionFactory buildSessionFactory() {
         log.info("Building session factory with provided configuration={}", this);
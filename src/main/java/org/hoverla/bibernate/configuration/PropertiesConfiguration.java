@@ -62,6 +62,26 @@ public class PropertiesConfiguration implements Configuration {
         return Boolean.parseBoolean(properties.getProperty(DbSettings.AUTO_DDL));
     }
 
+    @Override
+    public String getEntityPackageToScan() {
+        return properties.getProperty(DbSettings.ENTITY_PACKAGES);
+    }
+
+    @Override
+    public Integer getJdbcBatchSize() {
+        return getIntProperty(DbSettings.JDBC_BATCH_SIZE, DEFAULT_JDBC_BATCH_SIZE);
+    }
+
+    @Override
+    public Integer getMultiRowInsertSize() {
+        return getIntProperty(DbSettings.MULTI_ROW_INSERT_SIZE, DEFAULT_MULTI_ROW_INSERT_SIZE);
+    }
+
+    @Override
+    public Integer getMaxStatementParameters() {
+        return getIntProperty(DbSettings.MAX_STATEMENT_PARAMETERS, DEFAULT_MAX_STATEMENT_PARAMETERS);
+    }
+
     @Override
     public ConnPoolProviderType getPoolProvider() {
         return ConnPoolProviderType.fromValue(properties.getProperty(DbSettings.CP_PROVIDER));
@@ -72,6 +92,26 @@ public class PropertiesConfiguration implements Configuration {
         return new DefaultSessionFactoryBuilder().build(this);
     }
 
+    @Override
+    public Integer getInClauseSize() {
+        return getIntProperty(DbSettings.IN_CLAUSE_SIZE, DEFAULT_IN_CLAUSE_SIZE);
+    }
+
+    @Override
+    public Integer getBatchFetchSize() {
+        return getIntProperty(DbSettings.BATCH_FETCH_SIZE, DEFAULT_BATCH_FETCH_SIZE);
+    }
+
+    @Override
+    public Integer getFetchSize() {
+        return getIntProperty(DbSettings.FETCH_SIZE, DEFAULT_FETCH_SIZE);
+    }
+
+    private Integer getIntProperty(String key, int defaultValue) {
+        var value = properties.getProperty(key);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+
     private interface DbSettings {
         String URL = "db.url";
         String USERNAME = "db.username";
@@ -80,5 +120,12 @@ public class PropertiesConfiguration implements Configuration {
         String POOL_SIZE = "db.pool.size";
         String CP_PROVIDER = "db.pool.provider";
         String AUTO_DDL = "db.auto.dll";
+        String ENTITY_PACKAGES = "db.entity.packages";
+        String JDBC_BATCH_SIZE = "db.jdbc.batch_size";
+        String MULTI_ROW_INSERT_SIZE = "db.jdbc.multi_row_insert_size";
+        String MAX_STATEMENT_PARAMETERS = "db.jdbc.max_statement_parameters";
+        String IN_CLAUSE_SIZE = "db.jdbc.in_clause_size";
+        String BATCH_FETCH_SIZE = "db.jdbc.batch_fetch_size";
+        String FETCH_SIZE = "db.jdbc.fetch_size";
     }
 }
@@ -11,6 +11,7 @@ import org.hoverla.bibernate.annotation.*;
 @Table(name = "project")
 public class Project {
     @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer id;
 
     @Setter
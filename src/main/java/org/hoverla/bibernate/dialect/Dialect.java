@@ -0,0 +1,65 @@
+package org.hoverla.bibernate.dialect;
+
+/**
+ * Database specific SQL features used by the persister.
+ * The dialect is resolved once per session factory from the JDBC URL.
+ */
+public interface Dialect {
+
+    /**
+     * Checks whether a list of values can be bound as a single array parameter, e.g. {@code id = ANY(?)}
+     */
+    boolean supportsArrayParameters();
+
+    /**
+     * Returns the SQL type name of array elements of the given Java type,
+     * as expected by {@link java.sql.Connection#createArrayOf(String, Object[])}
+     *
+     * @param javaType element type
+     * @return SQL type name or {@code null} if such arrays are not supported
+     */
+    String getArrayTypeName(Class<?> javaType);
+
+    /**
+     * Checks whether rows can be streamed into a table with {@code COPY ... FROM STDIN}
+     */
+    boolean supportsCopy();
+
+    /**
+     * Checks whether the driver fetches rows with a cursor, i.e. honours the fetch size,
+     * only when auto-commit is turned off
+     */
+    boolean requiresTransactionForCursor();
+
+    /**
+     * Returns the clause appended to an ordered select to return at most {@code ?} rows
+     */
+    String getLimitClause();
+
+    /**
+     * Returns the clause appended to an ordered select to skip {@code ?} rows and return at most {@code ?} rows.
+     * The offset parameter precedes the limit one.
+     */
+    String getLimitOffsetClause();
+
+    /**
+     * Returns the query selecting the next value of a sequence
+     *
+     * @param sequenceName sequence name
+     * @return SQL query returning one row with one numeric column
+     */
+    String getSequenceNextValueSql(String sequenceName);
+
+    /**
+     * Resolves the dialect of the database the URL points to
+     *
+     * @param jdbcUrl JDBC URL, may be {@code null}
+     * @return PostgreSQL dialect for PostgreSQL URLs, generic ANSI SQL dialect otherwise
+     */
+    static Dialect fromUrl(String jdbcUrl) {
+        if (jdbcUrl != null && jdbcUrl.startsWith(PostgreSqlDialect.URL_PREFIX)) {
+            return new PostgreSqlDialect();
+        }
+        return new GenericDialect();
+    }
+}
@@ -0,0 +1,42 @@
+package org.hoverla.bibernate.dialect;
+
+/**
+ * Dialect relying on ANSI SQL only
+ */
+public class GenericDialect implements Dialect {
+
+    @Override
+    public boolean supportsArrayParameters() {
+        return false;
+    }
+
+    @Override
+    public String getArrayTypeName(Class<?> javaType) {
+        return null;
+    }
+
+    @Override
+    public boolean supportsCopy() {
+        return false;
+    }
+
+    @Override
+    public boolean requiresTransactionForCursor() {
+        return false;
+    }
+
+    @Override
+    public String getLimitClause() {
+        return " FETCH FIRST ? ROWS ONLY";
+    }
+
+    @Override
+    public String getLimitOffsetClause() {
+        return " OFFSET ? ROWS FETCH FIRST ? ROWS ONLY";
+    }
+
+    @Override
+    public String getSequenceNextValueSql(String sequenceName) {
+        return "SELECT NEXT VALUE FOR %s".formatted(sequenceName);
+    }
+}
@@ -0,0 +1,54 @@
+package org.hoverla.bibernate.dialect;
+
+import java.util.Map;
+import java.util.UUID;
+
+public class PostgreSqlDialect extends GenericDialect {
+    static final String URL_PREFIX = "jdbc:postgresql:";
+
+    private static final Map<Class<?>, String> ARRAY_TYPE_NAMES = Map.of(
+        Integer.class, "integer",
+        int.class, "integer",
+        Long.class, "bigint",
+        long.class, "bigint",
+        Short.class, "smallint",
+        short.class, "smallint",
+        String.class, "varchar",
+        UUID.class, "uuid"
+    );
+
+    @Override
+    public boolean supportsArrayParameters() {
+        return true;
+    }
+
+    @Override
+    public String getArrayTypeName(Class<?> javaType) {
+        return ARRAY_TYPE_NAMES.get(javaType);
+    }
+
+    @Override
+    public boolean supportsCopy() {
+        return true;
+    }
+
+    @Override
+    public boolean requiresTransactionForCursor() {
+        return true;
+    }
+
+    @Override
+    public String getLimitClause() {
+        return " LIMIT ?";
+    }
+
+    @Override
+    public String getLimitOffsetClause() {
+        return " OFFSET ? LIMIT ?";
+    }
+
+    @Override
+    public String getSequenceNextValueSql(String sequenceName) {
+        return "SELECT nextval('%s')".formatted(sequenceName);
+    }
+}
@@ -0,0 +1,13 @@
+package org.hoverla.bibernate.exception.metadata;
+
+public class EntityMappingException extends RuntimeException {
+    private static final String MESSAGE = "Invalid mapping of entity `%s`: %s";
+
+    public EntityMappingException(Class<?> entityType, String reason) {
+        super(MESSAGE.formatted(entityType.getName(), reason));
+    }
+
+    public EntityMappingException(Class<?> entityType, String reason, Throwable cause) {
+        super(MESSAGE.formatted(entityType.getName(), reason), cause);
+    }
+}
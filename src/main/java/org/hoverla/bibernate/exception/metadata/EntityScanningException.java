@@ -0,0 +1,7 @@
+package org.hoverla.bibernate.exception.metadata;
+
+public class EntityScanningException extends RuntimeException {
+    public EntityScanningException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
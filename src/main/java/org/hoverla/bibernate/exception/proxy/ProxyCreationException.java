@@ -0,0 +1,9 @@
+package org.hoverla.bibernate.exception.proxy;
+
+public class ProxyCreationException extends RuntimeException {
+    private static final String MESSAGE = "Can not create a lazy proxy of entity `%s`";
+
+    public ProxyCreationException(Class<?> entityType, Throwable cause) {
+        super(MESSAGE.formatted(entityType.getName()), cause);
+    }
+}
@@ -0,0 +1,13 @@
+package org.hoverla.bibernate.exception.query;
+
+public class ProjectionMappingException extends RuntimeException {
+    private static final String MESSAGE = "Invalid projection `%s`: %s";
+
+    public ProjectionMappingException(Class<?> projectionType, String reason) {
+        super(MESSAGE.formatted(projectionType.getName(), reason));
+    }
+
+    public ProjectionMappingException(Class<?> projectionType, String reason, Throwable cause) {
+        super(MESSAGE.formatted(projectionType.getName(), reason), cause);
+    }
+}
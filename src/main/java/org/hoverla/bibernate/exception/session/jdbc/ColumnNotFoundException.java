@@ -0,0 +1,9 @@
+package org.hoverla.bibernate.exception.session.jdbc;
+
+public class ColumnNotFoundException extends RuntimeException {
+    private static final String MESSAGE = "Column `%s` of entity `%s` is not present in the result set";
+
+    public ColumnNotFoundException(String columnName, String entityName) {
+        super(MESSAGE.formatted(columnName, entityName));
+    }
+}
@@ -0,0 +1,88 @@
+package org.hoverla.bibernate.hydration;
+
+import lombok.Getter;
+import org.hoverla.bibernate.exception.session.jdbc.ColumnNotFoundException;
+import org.hoverla.bibernate.metadata.EntityMetadata;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Locale;
+
+/**
+ * Maps the attributes of an entity to the column positions of one result set shape.
+ * Column labels are resolved once from {@link ResultSetMetaData}, so rows are read by index
+ * instead of making the driver look up every cell by its name.
+ */
+public class HydrationPlan<T> {
+    private static final int NOT_SELECTED = 0;
+
+    @Getter
+    private final EntityMetadata<T> metadata;
+    /**
+     * 1-based column indexes aligned with {@link EntityMetadata#getAttributes()}
+     */
+    private final int[] columnIndexes;
+
+    private HydrationPlan(EntityMetadata<T> metadata, int[] columnIndexes) {
+        this.metadata = metadata;
+        this.columnIndexes = columnIndexes;
+    }
+
+    public static <T> HydrationPlan<T> of(EntityMetadata<T> metadata, ResultSetMetaData resultSetMetaData)
+            throws SQLException {
+        return of(metadata, resultSetMetaData, "");
+    }
+
+    /**
+     * Resolves the plan of an entity whose column labels start with the given prefix,
+     * e.g. of a table joined into the query
+     */
+    public static <T> HydrationPlan<T> of(EntityMetadata<T> metadata, ResultSetMetaData resultSetMetaData,
+                                          String columnPrefix) throws SQLException {
+        var indexesByLabel = new HashMap<String, Integer>();
+        for (int i = resultSetMetaData.getColumnCount(); i >= 1; i--) {
+            indexesByLabel.put(resultSetMetaData.getColumnLabel(i).toLowerCase(Locale.ROOT), i);
+        }
+        var attributes = metadata.getAttributes();
+        var columnIndexes = new int[attributes.size()];
+        for (int i = 0; i < columnIndexes.length; i++) {
+            var attribute = attributes.get(i);
+            if (attribute.getColumnName() == null) {
+                columnIndexes[i] = NOT_SELECTED;
+                continue;
+            }
+            var columnIndex = indexesByLabel.get((columnPrefix + attribute.getColumnName()).toLowerCase(Locale.ROOT));
+            if (columnIndex == null) {
+                throw new ColumnNotFoundException(attribute.getColumnName(), metadata.getEntityType().getSimpleName());
+            }
+            columnIndexes[i] = columnIndex;
+        }
+        return new HydrationPlan<>(metadata, columnIndexes);
+    }
+
+    /**
+     * Reads the column value of an attribute from the current row.
+     *
+     * @param resultSet result set positioned on a row
+     * @param attributePosition position of the attribute in {@link EntityMetadata#getAttributes()}
+     * @return column value
+     */
+    public Object readValue(ResultSet resultSet, int attributePosition) throws SQLException {
+        var attribute = metadata.getAttributes().get(attributePosition);
+        return attribute.getColumnType().readValue(resultSet, columnIndexes[attributePosition]);
+    }
+
+    /**
+     * Reads the column of an attribute from the current row directly into the entity,
+     * so primitive attributes are not boxed.
+     *
+     * @param resultSet result set positioned on a row
+     * @param attributePosition position of the attribute in {@link EntityMetadata#getAttributes()}
+     * @param entity entity instance to fill
+     */
+    public void hydrate(ResultSet resultSet, int attributePosition, Object entity) throws SQLException {
+        metadata.getAttributes().get(attributePosition).read(resultSet, columnIndexes[attributePosition], entity);
+    }
+}
@@ -0,0 +1,86 @@
+package org.hoverla.bibernate.hydration;
+
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.hoverla.bibernate.metadata.EntityMetadata;
+
+import java.sql.ResultSet;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Session factory scoped cache of {@link HydrationPlan}s keyed by the SQL of the query,
+ * the entity type it is hydrated into and the prefix of its column labels.
+ * Plans of generated SQL are kept for the lifetime of the factory, as there are a few statements per entity.
+ * Plans of native SQL are kept in a bounded least recently used map, since native queries with inlined
+ * literals produce a new SQL string per call; only parameterized native SQL benefits from the cache.
+ */
+@Slf4j
+public class HydrationPlanCache {
+    public static final int DEFAULT_MAX_NATIVE_PLANS = 256;
+
+    private final Map<PlanKey, HydrationPlan<?>> plans = new ConcurrentHashMap<>();
+    private final Map<PlanKey, HydrationPlan<?>> nativePlans;
+
+    public HydrationPlanCache() {
+        this(DEFAULT_MAX_NATIVE_PLANS);
+    }
+
+    public HydrationPlanCache(int maxNativePlans) {
+        this.nativePlans = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<PlanKey, HydrationPlan<?>> eldest) {
+                return size() > maxNativePlans;
+            }
+        });
+    }
+
+    /**
+     * Returns the plan of a query or resolves it from the metadata of the given result set.
+     *
+     * @param sql query the result set was produced by
+     * @param metadata metadata of the hydrated entity
+     * @param resultSet result set of the query
+     * @return hydration plan
+     */
+    public <T> HydrationPlan<T> getPlan(String sql, EntityMetadata<T> metadata, ResultSet resultSet) {
+        return getPlan(sql, metadata, resultSet, "");
+    }
+
+    /**
+     * Returns the plan of an entity whose columns are labeled with the given prefix in the query,
+     * see {@link HydrationPlan#of(EntityMetadata, java.sql.ResultSetMetaData, String)}
+     */
+    @SuppressWarnings("unchecked")
+    public <T> HydrationPlan<T> getPlan(String sql, EntityMetadata<T> metadata, ResultSet resultSet,
+                                        String columnPrefix) {
+        return (HydrationPlan<T>) plans.computeIfAbsent(new PlanKey(sql, metadata.getEntityType(), columnPrefix),
+            key -> buildPlan(metadata, resultSet, sql, columnPrefix));
+    }
+
+    /**
+     * Returns the plan of a native query, see {@link #getPlan(String, EntityMetadata, ResultSet)}.
+     * Only the most recently used native queries keep their plans.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> HydrationPlan<T> getNativePlan(String sql, EntityMetadata<T> metadata, ResultSet resultSet) {
+        return (HydrationPlan<T>) nativePlans.computeIfAbsent(new PlanKey(sql, metadata.getEntityType(), ""),
+            key -> buildPlan(metadata, resultSet, sql, ""));
+    }
+
+    public int size() {
+        return plans.size() + nativePlans.size();
+    }
+
+    @SneakyThrows
+    private <T> HydrationPlan<T> buildPlan(EntityMetadata<T> metadata, ResultSet resultSet, String sql,
+                                           String columnPrefix) {
+        log.debug("Resolving hydration plan of {} for query: {}", metadata.getEntityType().getSimpleName(), sql);
+        return HydrationPlan.of(metadata, resultSet.getMetaData(), columnPrefix);
+    }
+
+    private record PlanKey(String sql, Class<?> entityType, String columnPrefix) {
+    }
+}
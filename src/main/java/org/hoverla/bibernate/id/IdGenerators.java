@@ -0,0 +1,32 @@
+package org.hoverla.bibernate.id;
+
+import org.hoverla.bibernate.exception.metadata.EntityMappingException;
+import org.hoverla.bibernate.metadata.IdGeneration;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Session factory scoped registry of sequence generators, one per sequence
+ */
+public class IdGenerators {
+    private final Map<String, PooledSequenceGenerator> generators = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the generator of the sequence of the entity id, creating it on the first call.
+     *
+     * @param entityType entity whose id is generated
+     * @param idGeneration sequence and allocation size of the id
+     * @return generator shared by all the entities using the sequence
+     * @throws EntityMappingException if the sequence is already used with another allocation size
+     */
+    public PooledSequenceGenerator getSequenceGenerator(Class<?> entityType, IdGeneration idGeneration) {
+        var generator = generators.computeIfAbsent(idGeneration.sequenceName(),
+            sequenceName -> new PooledSequenceGenerator(sequenceName, idGeneration.allocationSize()));
+        if (generator.getAllocationSize() != idGeneration.allocationSize()) {
+            throw new EntityMappingException(entityType, "sequence `%s` is already used with allocation size %d"
+                .formatted(idGeneration.sequenceName(), generator.getAllocationSize()));
+        }
+        return generator;
+    }
+}
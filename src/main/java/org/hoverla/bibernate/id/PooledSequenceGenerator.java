@@ -0,0 +1,42 @@
+package org.hoverla.bibernate.id;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Hands out the ids of one database sequence reserving them in blocks (pooled-lo optimization).
+ * The sequence must be incremented by the allocation size: each value it returns is the first id of a block
+ * of {@code allocationSize} ids, so the database is called once per block instead of once per id.
+ * Generators are shared by all the sessions of a session factory.
+ */
+@Slf4j
+public class PooledSequenceGenerator {
+    @Getter
+    private final String sequenceName;
+    @Getter
+    private final int allocationSize;
+    private long nextId;
+    private long blockEnd;
+
+    public PooledSequenceGenerator(String sequenceName, int allocationSize) {
+        this.sequenceName = sequenceName;
+        this.allocationSize = allocationSize;
+    }
+
+    /**
+     * Returns the next id, calling the sequence only when the current block is exhausted.
+     *
+     * @param sequenceCall returns the next value of the sequence
+     * @return generated id
+     */
+    public synchronized long next(LongSupplier sequenceCall) {
+        if (nextId == blockEnd) {
+            nextId = sequenceCall.getAsLong();
+            blockEnd = nextId + allocationSize;
+            log.debug("Reserved ids [{}, {}) of sequence {}", nextId, blockEnd, sequenceName);
+        }
+        return nextId++;
+    }
+}
@@ -0,0 +1,167 @@
+package org.hoverla.bibernate.metadata;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.hoverla.bibernate.annotation.BatchSize;
+import org.hoverla.bibernate.annotation.FetchType;
+import org.hoverla.bibernate.annotation.ManyToOne;
+import org.hoverla.bibernate.annotation.OneToOne;
+import org.hoverla.bibernate.exception.metadata.EntityMappingException;
+import org.hoverla.bibernate.metadata.accessor.EntityMapper;
+import org.hoverla.bibernate.metadata.accessor.MethodHandlePropertyAccessor;
+import org.hoverla.bibernate.metadata.accessor.PropertyAccessor;
+import org.hoverla.bibernate.metadata.type.ColumnType;
+import org.hoverla.bibernate.metadata.type.ColumnTypes;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Optional;
+
+import static org.hoverla.bibernate.util.EntityUtils.*;
+
+/**
+ * Immutable description of a single mapped entity field.
+ * It is resolved once when the owning {@link EntityMetadata} is built, so that
+ * annotations and column names are not read again on every JDBC operation.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class AttributeMetadata {
+    private final Field field;
+    private final String name;
+    private final String columnName;
+    private final AttributeType type;
+    private final Class<?> javaType;
+    /**
+     * Related entity type for associations, {@code null} for basic attributes
+     */
+    private final Class<?> targetEntityType;
+    /**
+     * Name of the attribute on the related entity that owns the foreign key.
+     * Set for one-to-many associations only
+     */
+    private final String mappedBy;
+    /**
+     * Whether the attribute is annotated with {@code @Column} and thus written on insert
+     */
+    private final boolean insertable;
+    private final PropertyAccessor accessor;
+    /**
+     * Binds and reads the column of the attribute, {@code null} for one-to-many associations
+     */
+    private final ColumnType columnType;
+    /**
+     * Number of related entities loaded by one query set with {@code @BatchSize}, 0 if it is not set
+     */
+    private final int batchSize;
+    /**
+     * Whether the related entity is set as a lazy proxy, see {@link FetchType#LAZY}
+     */
+    private final boolean lazy;
+
+    static AttributeMetadata of(Class<?> entityType, Field field, EntityMapper<?> mapper) {
+        var insertable = isColumnField(field);
+        if (!insertable && !isIdField(field) && !isSingleObjectField(field) && !isMultipleObjectField(field)) {
+            return null;
+        }
+        var accessor = Optional.ofNullable(mapper)
+            .map(generatedMapper -> generatedMapper.getAccessor(field.getName()))
+            .orElseGet(() -> MethodHandlePropertyAccessor.of(field));
+        if (isIdField(field)) {
+            return new AttributeMetadata(field, field.getName(), resolveColumnName(field), AttributeType.ID,
+                field.getType(), null, null, insertable, accessor, ColumnTypes.resolve(field.getType()), 0, false);
+        } else if (isSingleObjectField(field)) {
+            var type = field.isAnnotationPresent(ManyToOne.class)
+                ? AttributeType.MANY_TO_ONE
+                : AttributeType.ONE_TO_ONE;
+            return new AttributeMetadata(field, field.getName(), resolveColumnName(field), type,
+                field.getType(), field.getType(), null, insertable, accessor, ColumnTypes.OBJECT,
+                resolveBatchSize(entityType, field), isLazy(entityType, field));
+        } else if (isMultipleObjectField(field)) {
+            var elementType = resolveElementType(entityType, field);
+            var mappedBy = Arrays.stream(elementType.getDeclaredFields())
+                .filter(relatedField -> relatedField.getType().equals(entityType))
+                .findAny()
+                .map(Field::getName)
+                .orElseThrow(() -> new EntityMappingException(entityType,
+                    "can not find a field of type %s in %s to map `%s` collection"
+                        .formatted(entityType.getSimpleName(), elementType.getSimpleName(), field.getName())));
+            return new AttributeMetadata(field, field.getName(), null, AttributeType.ONE_TO_MANY,
+                field.getType(), elementType, mappedBy, false, accessor, null,
+                resolveBatchSize(entityType, field), false);
+        }
+        return new AttributeMetadata(field, field.getName(), resolveColumnName(field), AttributeType.BASIC,
+            field.getType(), null, null, true, accessor, ColumnTypes.resolve(field.getType()), 0, false);
+    }
+
+    private static int resolveBatchSize(Class<?> entityType, Field field) {
+        var batchSize = field.getAnnotation(BatchSize.class);
+        if (batchSize == null) {
+            return 0;
+        }
+        if (batchSize.size() < 1) {
+            throw new EntityMappingException(entityType,
+                "batch size of `%s` must be positive".formatted(field.getName()));
+        }
+        return batchSize.size();
+    }
+
+    private static boolean isLazy(Class<?> entityType, Field field) {
+        var manyToOne = field.getAnnotation(ManyToOne.class);
+        var oneToOne = field.getAnnotation(OneToOne.class);
+        var lazy = manyToOne != null && manyToOne.fetch() == FetchType.LAZY
+            || oneToOne != null && oneToOne.fetch() == FetchType.LAZY;
+        if (lazy && Modifier.isFinal(field.getType().getModifiers())) {
+            throw new EntityMappingException(entityType,
+                "`%s` can not be lazy, final class %s can not be proxied"
+                    .formatted(field.getName(), field.getType().getSimpleName()));
+        }
+        return lazy;
+    }
+
+    private static Class<?> resolveElementType(Class<?> entityType, Field field) {
+        if (field.getGenericType() instanceof ParameterizedType parameterizedType
+            && parameterizedType.getActualTypeArguments()[0] instanceof Class<?> elementType) {
+            return elementType;
+        }
+        throw new EntityMappingException(entityType,
+            "collection `%s` must declare its element type".formatted(field.getName()));
+    }
+
+    public Object get(Object entity) {
+        return accessor.get(entity);
+    }
+
+    public void set(Object entity, Object value) {
+        accessor.set(entity, value);
+    }
+
+    /**
+     * Binds the attribute value of the entity with the typed JDBC setter of its column type.
+     */
+    public void bind(PreparedStatement statement, int index, Object entity) throws SQLException {
+        columnType.bind(statement, index, entity, accessor);
+    }
+
+    /**
+     * Reads the column into the attribute of the entity with the typed JDBC getter of its column type.
+     */
+    public void read(ResultSet resultSet, int index, Object entity) throws SQLException {
+        columnType.read(resultSet, index, entity, accessor);
+    }
+
+    public boolean isId() {
+        return type == AttributeType.ID;
+    }
+
+    @Override
+    public String toString() {
+        return "%s(%s)".formatted(name, type);
+    }
+}
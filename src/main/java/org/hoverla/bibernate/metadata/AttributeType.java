@@ -0,0 +1,16 @@
+package org.hoverla.bibernate.metadata;
+
+/**
+ * Describes how an entity field is mapped to the database.
+ */
+public enum AttributeType {
+    ID, BASIC, MANY_TO_ONE, ONE_TO_ONE, ONE_TO_MANY;
+
+    public boolean isSingleAssociation() {
+        return this == MANY_TO_ONE || this == ONE_TO_ONE;
+    }
+
+    public boolean isCollectionAssociation() {
+        return this == ONE_TO_MANY;
+    }
+}
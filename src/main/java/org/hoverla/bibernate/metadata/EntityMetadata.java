@@ -0,0 +1,211 @@
+package org.hoverla.bibernate.metadata;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.hoverla.bibernate.annotation.GenerationType;
+import org.hoverla.bibernate.exception.session.FieldNotFoundException;
+import org.hoverla.bibernate.exception.session.IdNotFoundException;
+import org.hoverla.bibernate.metadata.accessor.EntityInstantiator;
+import org.hoverla.bibernate.metadata.accessor.EntityMapper;
+import org.hoverla.bibernate.metadata.accessor.EntityMappers;
+import org.hoverla.bibernate.proxy.EntityProxy;
+import org.hoverla.bibernate.util.EntityKey;
+import org.hoverla.bibernate.util.EntityUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Immutable mapping model of a single entity class: its table, id attribute,
+ * ordered column attributes and relations.
+ * It is built once per entity type by {@link MetadataRegistry} and then consulted by
+ * the session instead of scanning declared fields and annotations on every call.
+ */
+@Slf4j
+@Getter
+public class EntityMetadata<T> {
+    private final Class<T> entityType;
+    private final String tableName;
+    private final AttributeMetadata idAttribute;
+    /**
+     * Generation of the id, {@code null} when ids are assigned by the application
+     */
+    private final IdGeneration idGeneration;
+    /**
+     * All mapped attributes in declaration order
+     */
+    private final List<AttributeMetadata> attributes;
+    private final List<AttributeMetadata> insertableAttributes;
+    private final List<AttributeMetadata> updatableAttributes;
+    private final List<AttributeMetadata> snapshotAttributes;
+    private final List<AttributeMetadata> singleAssociations;
+    private final List<AttributeMetadata> collectionAssociations;
+    private final Map<String, AttributeMetadata> attributesByName;
+    @Getter(AccessLevel.NONE)
+    private final EntityInstantiator<T> instantiator;
+    /**
+     * Mapper generated at build time, {@code null} when the entity is handled through method handles
+     */
+    @Getter(AccessLevel.NONE)
+    private final EntityMapper<T> mapper;
+
+    private EntityMetadata(Class<T> entityType, List<AttributeMetadata> attributes, EntityMapper<T> mapper) {
+        this.entityType = entityType;
+        this.tableName = EntityUtils.resolveTableName(entityType);
+        this.attributes = List.copyOf(attributes);
+        this.idAttribute = attributes.stream()
+            .filter(AttributeMetadata::isId)
+            .findFirst()
+            .orElseThrow(() -> new IdNotFoundException(entityType.getSimpleName()));
+        this.idGeneration = IdGeneration.of(entityType, tableName, idAttribute);
+        this.insertableAttributes = attributes.stream()
+            .filter(attribute -> attribute.isId() ? isIdInserted(attribute) : attribute.isInsertable())
+            .toList();
+        this.updatableAttributes = attributes.stream()
+            .filter(attribute -> attribute.isInsertable() && !attribute.isId())
+            .toList();
+        this.snapshotAttributes = attributes.stream()
+            .filter(attribute -> attribute.isInsertable() || attribute.isId())
+            .toList();
+        this.singleAssociations = attributes.stream()
+            .filter(attribute -> attribute.getType().isSingleAssociation())
+            .toList();
+        this.collectionAssociations = attributes.stream()
+            .filter(attribute -> attribute.getType().isCollectionAssociation())
+            .toList();
+        var byName = new HashMap<String, AttributeMetadata>();
+        attributes.forEach(attribute -> byName.put(attribute.getName().toLowerCase(Locale.ROOT), attribute));
+        this.attributesByName = Map.copyOf(byName);
+        this.mapper = mapper;
+        this.instantiator = mapper == null ? EntityInstantiator.of(entityType) : null;
+    }
+
+    /**
+     * Reads the mapping of the given entity class.
+     *
+     * @param entityType entity class
+     * @return entity metadata
+     * @throws IdNotFoundException if the entity has no {@code @Id} field
+     */
+    public static <T> EntityMetadata<T> of(Class<T> entityType) {
+        log.debug("Building metadata of entity {}", entityType.getName());
+        var mapper = EntityMappers.find(entityType).orElse(null);
+        var attributes = new ArrayList<AttributeMetadata>();
+        for (var field : entityType.getDeclaredFields()) {
+            var attribute = AttributeMetadata.of(entityType, field, mapper);
+            if (attribute != null) {
+                attributes.add(attribute);
+            }
+        }
+        return new EntityMetadata<>(entityType, attributes, mapper);
+    }
+
+    /**
+     * Finds a mapped attribute by its name ignoring the case.
+     *
+     * @param attributeName name of the entity field
+     * @return attribute metadata
+     * @throws FieldNotFoundException if there is no such mapped attribute
+     */
+    public AttributeMetadata getAttribute(String attributeName) {
+        var attribute = attributesByName.get(attributeName.toLowerCase(Locale.ROOT));
+        if (attribute == null) {
+            throw new FieldNotFoundException(attributeName, entityType.getSimpleName());
+        }
+        return attribute;
+    }
+
+    public T newInstance() {
+        return mapper != null ? mapper.newInstance() : instantiator.newInstance();
+    }
+
+    /**
+     * Returns the id of the entity, the id of a lazy proxy is returned without loading it
+     */
+    public Object getId(Object entity) {
+        if (entity instanceof EntityProxy proxy) {
+            return proxy.getBibernateLazyInitializer().getId();
+        }
+        return idAttribute.get(entity);
+    }
+
+    /**
+     * Converts an id given by the application to the type of the id attribute, e.g. a {@code Long}
+     * to an {@code Integer}, so it equals the ids read from the database. Other ids are returned as is.
+     */
+    public Object toIdType(Object id) {
+        if (!(id instanceof Number number)) {
+            return id;
+        }
+        var idType = idAttribute.getJavaType();
+        if (idType == Integer.class || idType == int.class) {
+            return number.intValue();
+        }
+        if (idType == Long.class || idType == long.class) {
+            return number.longValue();
+        }
+        if (idType == Short.class || idType == short.class) {
+            return number.shortValue();
+        }
+        return id;
+    }
+
+    /**
+     * Creates the key of the entity in a persistence context.
+     * Entities without an id get a transient key identifying the instance until the id is generated.
+     */
+    public EntityKey<T> createKey(Object entity) {
+        var id = getId(entity);
+        return id != null ? new EntityKey<>(id, entityType) : EntityKey.ofTransient(entity, entityType);
+    }
+
+    /**
+     * Sequence generated ids are always inserted, identity columns never are.
+     * Assigned ids are inserted only if they are mapped with {@code @Column}.
+     */
+    private boolean isIdInserted(AttributeMetadata idAttribute) {
+        return isSequenceGenerated() || idAttribute.isInsertable() && !isIdentityGenerated();
+    }
+
+    public boolean isIdentityGenerated() {
+        return idGeneration != null && idGeneration.strategy() == GenerationType.IDENTITY;
+    }
+
+    public boolean isSequenceGenerated() {
+        return idGeneration != null && idGeneration.strategy() == GenerationType.SEQUENCE;
+    }
+
+    public Object[] createSnapshot(Object entity) {
+        if (mapper != null) {
+            return mapper.extractSnapshot(entityType.cast(entity));
+        }
+        var snapshot = new Object[snapshotAttributes.size()];
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = snapshotAttributes.get(i).get(entity);
+        }
+        return snapshot;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof EntityMetadata<?> that && entityType.equals(that.entityType);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(entityType);
+    }
+
+    @Override
+    public String toString() {
+        return "EntityMetadata(%s -> %s)".formatted(entityType.getSimpleName(), tableName);
+    }
+}
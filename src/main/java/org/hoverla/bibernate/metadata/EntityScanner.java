@@ -0,0 +1,121 @@
+package org.hoverla.bibernate.metadata;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hoverla.bibernate.annotation.Entity;
+import org.hoverla.bibernate.exception.metadata.EntityScanningException;
+import org.reflections.Reflections;
+import org.reflections.scanners.Scanners;
+import org.reflections.util.ConfigurationBuilder;
+import org.reflections.util.FilterBuilder;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Discovers {@code @Entity} classes of the configured packages.
+ * If a build-time entity index (see {@link #ENTITY_INDEX_LOCATION}) is present on the classpath,
+ * entities are taken from it and no classpath scanning is performed.
+ * Otherwise packages are scanned in parallel with Reflections.
+ */
+@Slf4j
+public class EntityScanner {
+    /**
+     * Resource listing fully qualified names of entity classes, one per line.
+     * It is written by {@link org.hoverla.bibernate.processor.EntityMapperProcessor}.
+     */
+    public static final String ENTITY_INDEX_LOCATION = "META-INF/bibernate/entities.idx";
+
+    private final ClassLoader classLoader;
+
+    public EntityScanner() {
+        this(Thread.currentThread().getContextClassLoader());
+    }
+
+    public EntityScanner(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+    }
+
+    /**
+     * Finds entity classes in the given packages.
+     *
+     * @param packagesToScan comma separated package names, nothing is scanned if blank
+     * @return entity classes
+     * @throws EntityScanningException if the index lists a class that can not be loaded
+     */
+    public Set<Class<?>> scan(String packagesToScan) {
+        if (packagesToScan == null || packagesToScan.isBlank()) {
+            return Collections.emptySet();
+        }
+        var packages = Arrays.stream(packagesToScan.split(","))
+            .map(String::trim)
+            .filter(packageName -> !packageName.isEmpty())
+            .toList();
+        var indexedEntities = readIndex(packages);
+        if (!indexedEntities.isEmpty()) {
+            log.debug("Found {} entities in the build-time index", indexedEntities.size());
+            return indexedEntities;
+        }
+        return scanClasspath(packages);
+    }
+
+    private Set<Class<?>> scanClasspath(List<String> packages) {
+        log.debug("Scanning packages {} for entities", packages);
+        var filter = new FilterBuilder();
+        packages.forEach(filter::includePackage);
+        var reflections = new Reflections(new ConfigurationBuilder()
+            .forPackages(packages.toArray(String[]::new))
+            .addClassLoaders(classLoader)
+            .filterInputsBy(filter)
+            .setScanners(Scanners.TypesAnnotated)
+            .setParallel(true));
+        var entities = reflections.getTypesAnnotatedWith(Entity.class, true);
+        log.debug("Found {} entities on the classpath", entities.size());
+        return entities;
+    }
+
+    private Set<Class<?>> readIndex(List<String> packages) {
+        var entities = new LinkedHashSet<Class<?>>();
+        try {
+            var indexes = classLoader.getResources(ENTITY_INDEX_LOCATION);
+            while (indexes.hasMoreElements()) {
+                readIndex(indexes.nextElement(), packages, entities);
+            }
+        } catch (IOException e) {
+            throw new EntityScanningException("Could not read entity index " + ENTITY_INDEX_LOCATION, e);
+        }
+        return entities;
+    }
+
+    private void readIndex(URL index, List<String> packages, Set<Class<?>> entities) throws IOException {
+        try (var reader = new BufferedReader(new InputStreamReader(index.openStream(), StandardCharsets.UTF_8))) {
+            String className;
+            while ((className = reader.readLine()) != null) {
+                var trimmedName = className.trim();
+                if (!trimmedName.isEmpty() && isInPackages(trimmedName, packages)) {
+                    entities.add(loadClass(trimmedName));
+                }
+            }
+        }
+    }
+
+    private boolean isInPackages(String className, List<String> packages) {
+        return packages.stream().anyMatch(packageName -> className.startsWith(packageName + "."));
+    }
+
+    private Class<?> loadClass(String className) {
+        try {
+            return Class.forName(className, false, classLoader);
+        } catch (ClassNotFoundException e) {
+            throw new EntityScanningException("Entity %s listed in %s is not on the classpath"
+                .formatted(className, ENTITY_INDEX_LOCATION), e);
+        }
+    }
+}
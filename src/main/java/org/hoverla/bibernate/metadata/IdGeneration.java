@@ -0,0 +1,39 @@
+package org.hoverla.bibernate.metadata;
+
+import org.hoverla.bibernate.annotation.GeneratedValue;
+import org.hoverla.bibernate.annotation.GenerationType;
+import org.hoverla.bibernate.exception.metadata.EntityMappingException;
+
+/**
+ * How the id of an entity is generated, see {@link GeneratedValue}
+ *
+ * @param strategy generation strategy
+ * @param sequenceName sequence used by {@link GenerationType#SEQUENCE}, {@code null} for identity columns
+ * @param allocationSize number of ids reserved by one call of the sequence
+ */
+public record IdGeneration(GenerationType strategy, String sequenceName, int allocationSize) {
+
+    static IdGeneration of(Class<?> entityType, String tableName, AttributeMetadata idAttribute) {
+        var generatedValue = idAttribute.getField().getAnnotation(GeneratedValue.class);
+        if (generatedValue == null) {
+            return null;
+        }
+        if (generatedValue.strategy() == GenerationType.IDENTITY) {
+            return new IdGeneration(GenerationType.IDENTITY, null, 1);
+        }
+        if (generatedValue.allocationSize() < 1) {
+            throw new EntityMappingException(entityType, "allocation size of the id sequence must be positive");
+        }
+        if (!isIntegral(idAttribute.getJavaType())) {
+            throw new EntityMappingException(entityType, "sequence generated id must be of an integral type");
+        }
+        var sequenceName = generatedValue.sequenceName().isEmpty()
+            ? tableName + "_" + idAttribute.getColumnName() + "_seq"
+            : generatedValue.sequenceName();
+        return new IdGeneration(GenerationType.SEQUENCE, sequenceName, generatedValue.allocationSize());
+    }
+
+    private static boolean isIntegral(Class<?> javaType) {
+        return javaType == Integer.class || javaType == int.class || javaType == Long.class || javaType == long.class;
+    }
+}
@@ -0,0 +1,102 @@
+package org.hoverla.bibernate.metadata;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hoverla.bibernate.annotation.Entity;
+import org.hoverla.bibernate.exception.metadata.EntityMappingException;
+import org.hoverla.bibernate.proxy.EntityProxy;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds the {@link EntityMetadata} of all the entities known to a session factory.
+ * Metadata is built once per entity type and shared by all the sessions.
+ * Entity types that were not registered upfront are resolved on the first access.
+ */
+@Slf4j
+public class MetadataRegistry {
+    private final Map<Class<?>, EntityMetadata<?>> metadataByType = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Integer> dependencyLevels = new ConcurrentHashMap<>();
+
+    @SuppressWarnings("unchecked")
+    public <T> EntityMetadata<T> getMetadata(Class<T> entityType) {
+        return (EntityMetadata<T>) metadataByType.computeIfAbsent(entityType, EntityMetadata::of);
+    }
+
+    /**
+     * Returns the metadata of the entity class, or of the proxied entity class if the entity is a lazy proxy
+     */
+    @SuppressWarnings("unchecked")
+    public <T> EntityMetadata<T> getMetadataOf(T entity) {
+        if (entity instanceof EntityProxy proxy) {
+            return getMetadata((Class<T>) proxy.getBibernateLazyInitializer().getEntityType());
+        }
+        return getMetadata((Class<T>) entity.getClass());
+    }
+
+    /**
+     * Builds and validates the metadata of the given entities in parallel on the common fork-join pool.
+     * The first mapping error aborts the registration and nothing is registered.
+     *
+     * @param entityTypes entity classes
+     * @throws EntityMappingException if any of the entities is mapped incorrectly
+     */
+    public void register(Collection<Class<?>> entityTypes) {
+        var metadata = entityTypes.parallelStream()
+            .<EntityMetadata<?>>map(EntityMetadata::of)
+            .toList();
+        metadata.parallelStream().forEach(this::validateRelations);
+        metadata.forEach(entityMetadata -> metadataByType.putIfAbsent(entityMetadata.getEntityType(), entityMetadata));
+        log.debug("Registered metadata of {} entities", metadataByType.size());
+    }
+
+    /**
+     * Returns the level of the entity in the graph of {@code @ManyToOne}/{@code @OneToOne} references:
+     * entities referencing no other entity are on level 0, others are one level above the deepest entity they reference.
+     * Rows of lower levels must be inserted first and deleted last. Self references and cycles are ignored.
+     *
+     * @param entityType entity class
+     * @return dependency level
+     */
+    public int getDependencyLevel(Class<?> entityType) {
+        var level = dependencyLevels.get(entityType);
+        return level != null ? level : resolveDependencyLevel(entityType, new HashSet<>());
+    }
+
+    public Collection<EntityMetadata<?>> getAllMetadata() {
+        return metadataByType.values();
+    }
+
+    private int resolveDependencyLevel(Class<?> entityType, Set<Class<?>> visiting) {
+        var cachedLevel = dependencyLevels.get(entityType);
+        if (cachedLevel != null) {
+            return cachedLevel;
+        }
+        if (!visiting.add(entityType)) {
+            return 0;
+        }
+        int level = 0;
+        for (var association : getMetadata(entityType).getSingleAssociations()) {
+            var targetType = association.getTargetEntityType();
+            if (targetType != entityType) {
+                level = Math.max(level, resolveDependencyLevel(targetType, visiting) + 1);
+            }
+        }
+        visiting.remove(entityType);
+        dependencyLevels.putIfAbsent(entityType, level);
+        return level;
+    }
+
+    private void validateRelations(EntityMetadata<?> metadata) {
+        for (var attribute : metadata.getAttributes()) {
+            var targetType = attribute.getTargetEntityType();
+            if (targetType != null && !targetType.isAnnotationPresent(Entity.class)) {
+                throw new EntityMappingException(metadata.getEntityType(),
+                    "relation `%s` targets %s which is not an entity".formatted(attribute.getName(), targetType.getName()));
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package org.hoverla.bibernate.metadata.accessor;
+
+import lombok.SneakyThrows;
+import org.hoverla.bibernate.exception.metadata.EntityMappingException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * Creates entity instances through a no-arg constructor handle resolved once per entity type
+ * instead of looking the constructor up reflectively for every row.
+ */
+public class EntityInstantiator<T> {
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+
+    private final Class<T> entityType;
+    private final MethodHandle constructor;
+
+    private EntityInstantiator(Class<T> entityType, MethodHandle constructor) {
+        this.entityType = entityType;
+        this.constructor = constructor;
+    }
+
+    public static <T> EntityInstantiator<T> of(Class<T> entityType) {
+        try {
+            var lookup = MethodHandles.privateLookupIn(entityType, MethodHandles.lookup());
+            var constructor = lookup.findConstructor(entityType, MethodType.methodType(void.class))
+                .asType(CONSTRUCTOR_TYPE);
+            return new EntityInstantiator<>(entityType, constructor);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new EntityMappingException(entityType, "entity must declare a no-arg constructor", e);
+        }
+    }
+
+    @SneakyThrows
+    public T newInstance() {
+        return entityType.cast((Object) constructor.invokeExact());
+    }
+}
@@ -0,0 +1,34 @@
+package org.hoverla.bibernate.metadata.accessor;
+
+/**
+ * Reflection-free entity mapper emitted at build time by
+ * {@link org.hoverla.bibernate.processor.EntityMapperProcessor}.
+ * When a mapper exists for an entity, its metadata uses the generated code for
+ * instantiation, attribute access and snapshots instead of method handles.
+ *
+ * @param <T> entity type
+ */
+public interface EntityMapper<T> {
+    /**
+     * Suffix appended to the entity class name to get the name of its generated mapper
+     */
+    String CLASS_NAME_SUFFIX = "_Mapper";
+
+    T newInstance();
+
+    /**
+     * Returns the generated accessor of a mapped attribute.
+     *
+     * @param attributeName name of the entity field
+     * @return accessor or {@code null} if the attribute is not mapped
+     */
+    PropertyAccessor getAccessor(String attributeName);
+
+    /**
+     * Copies the values of id and column attributes in declaration order.
+     *
+     * @param entity entity instance
+     * @return snapshot copy used for dirty checking
+     */
+    Object[] extractSnapshot(T entity);
+}
@@ -0,0 +1,30 @@
+package org.hoverla.bibernate.metadata.accessor;
+
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+import org.hoverla.bibernate.exception.metadata.EntityMappingException;
+
+import java.util.Optional;
+
+/**
+ * Looks up entity mappers generated at build time
+ */
+@Slf4j
+@UtilityClass
+public class EntityMappers {
+
+    @SuppressWarnings("unchecked")
+    public static <T> Optional<EntityMapper<T>> find(Class<T> entityType) {
+        var mapperClassName = entityType.getName() + EntityMapper.CLASS_NAME_SUFFIX;
+        try {
+            var mapperType = Class.forName(mapperClassName, true, entityType.getClassLoader());
+            log.debug("Using generated mapper {}", mapperClassName);
+            return Optional.of((EntityMapper<T>) mapperType.getConstructor().newInstance());
+        } catch (ClassNotFoundException e) {
+            log.trace("No generated mapper for {}, falling back to reflection", entityType.getName());
+            return Optional.empty();
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            throw new EntityMappingException(entityType, "can not instantiate generated mapper " + mapperClassName, e);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package org.hoverla.bibernate.metadata.accessor;
+
+import lombok.SneakyThrows;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+
+/**
+ * {@link PropertyAccessor} backed by field getter and setter method handles.
+ * Handles are resolved through a private lookup once, so there is neither
+ * {@code setAccessible} nor access checking on every call, and the exact
+ * {@code (Object)Object} signature lets the JIT inline the invocation.
+ * For primitive fields additional handles typed with the primitive itself are kept,
+ * so primitive-specialized access does not box the value.
+ */
+public class MethodHandlePropertyAccessor implements PropertyAccessor {
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final MethodHandle getter;
+    private final MethodHandle setter;
+    private final MethodHandle primitiveGetter;
+    private final MethodHandle primitiveSetter;
+
+    private MethodHandlePropertyAccessor(MethodHandle getter, MethodHandle setter,
+                                         MethodHandle primitiveGetter, MethodHandle primitiveSetter) {
+        this.getter = getter;
+        this.setter = setter;
+        this.primitiveGetter = primitiveGetter;
+        this.primitiveSetter = primitiveSetter;
+    }
+
+    @SneakyThrows(IllegalAccessException.class)
+    public static PropertyAccessor of(Field field) {
+        var lookup = MethodHandles.privateLookupIn(field.getDeclaringClass(), MethodHandles.lookup());
+        var fieldGetter = lookup.unreflectGetter(field);
+        var fieldSetter = lookup.unreflectSetter(field);
+        MethodHandle primitiveGetter = null;
+        MethodHandle primitiveSetter = null;
+        if (field.getType().isPrimitive()) {
+            primitiveGetter = fieldGetter.asType(MethodType.methodType(field.getType(), Object.class));
+            primitiveSetter = fieldSetter.asType(MethodType.methodType(void.class, Object.class, field.getType()));
+        }
+        return new MethodHandlePropertyAccessor(fieldGetter.asType(GETTER_TYPE), fieldSetter.asType(SETTER_TYPE),
+            primitiveGetter, primitiveSetter);
+    }
+
+    @Override
+    @SneakyThrows
+    public Object get(Object entity) {
+        return (Object) getter.invokeExact(entity);
+    }
+
+    @Override
+    @SneakyThrows
+    public void set(Object entity, Object value) {
+        setter.invokeExact(entity, value);
+    }
+
+    @Override
+    @SneakyThrows
+    public int getInt(Object entity) {
+        return (int) primitiveGetter.invokeExact(entity);
+    }
+
+    @Override
+    @SneakyThrows
+    public void setInt(Object entity, int value) {
+        primitiveSetter.invokeExact(entity, value);
+    }
+
+    @Override
+    @SneakyThrows
+    public long getLong(Object entity) {
+        return (long) primitiveGetter.invokeExact(entity);
+    }
+
+    @Override
+    @SneakyThrows
+    public void setLong(Object entity, long value) {
+        primitiveSetter.invokeExact(entity, value);
+    }
+
+    @Override
+    @SneakyThrows
+    public double getDouble(Object entity) {
+        return (double) primitiveGetter.invokeExact(entity);
+    }
+
+    @Override
+    @SneakyThrows
+    public void setDouble(Object entity, double value) {
+        primitiveSetter.invokeExact(entity, value);
+    }
+
+    @Override
+    @SneakyThrows
+    public boolean getBoolean(Object entity) {
+        return (boolean) primitiveGetter.invokeExact(entity);
+    }
+
+    @Override
+    @SneakyThrows
+    public void setBoolean(Object entity, boolean value) {
+        primitiveSetter.invokeExact(entity, value);
+    }
+}
@@ -0,0 +1,45 @@
+package org.hoverla.bibernate.metadata.accessor;
+
+/**
+ * Reads and writes the value of a single entity attribute.
+ * Implementations are bound once per attribute when entity metadata is built.
+ * Primitive-specialized methods are only called for attributes of the matching primitive type
+ * and let implementations avoid boxing the value.
+ */
+public interface PropertyAccessor {
+    Object get(Object entity);
+
+    void set(Object entity, Object value);
+
+    default int getInt(Object entity) {
+        return (int) get(entity);
+    }
+
+    default void setInt(Object entity, int value) {
+        set(entity, value);
+    }
+
+    default long getLong(Object entity) {
+        return (long) get(entity);
+    }
+
+    default void setLong(Object entity, long value) {
+        set(entity, value);
+    }
+
+    default double getDouble(Object entity) {
+        return (double) get(entity);
+    }
+
+    default void setDouble(Object entity, double value) {
+        set(entity, value);
+    }
+
+    default boolean getBoolean(Object entity) {
+        return (boolean) get(entity);
+    }
+
+    default void setBoolean(Object entity, boolean value) {
+        set(entity, value);
+    }
+}
@@ -0,0 +1,57 @@
+package org.hoverla.bibernate.metadata.type;
+
+import org.hoverla.bibernate.metadata.accessor.PropertyAccessor;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Binds and reads column values of one Java type with the matching typed JDBC methods.
+ * A column type is chosen for every attribute when its metadata is built, see {@link ColumnTypes#resolve(Class)}.
+ */
+public interface ColumnType {
+
+    /**
+     * Binds a standalone value, e.g. a query parameter or an id.
+     *
+     * @param statement statement to bind to
+     * @param index 1-based parameter index
+     * @param value value to bind, may be null
+     */
+    void bindValue(PreparedStatement statement, int index, Object value) throws SQLException;
+
+    /**
+     * Reads a column value of the current row.
+     *
+     * @param resultSet result set positioned on a row
+     * @param index 1-based column index
+     * @return column value or null for SQL NULL
+     */
+    Object readValue(ResultSet resultSet, int index) throws SQLException;
+
+    /**
+     * Binds the value of an entity attribute.
+     *
+     * @param statement statement to bind to
+     * @param index 1-based parameter index
+     * @param entity entity instance
+     * @param accessor accessor of the attribute
+     */
+    default void bind(PreparedStatement statement, int index, Object entity, PropertyAccessor accessor)
+            throws SQLException {
+        bindValue(statement, index, accessor.get(entity));
+    }
+
+    /**
+     * Reads a column of the current row into an entity attribute.
+     *
+     * @param resultSet result set positioned on a row
+     * @param index 1-based column index
+     * @param entity entity instance
+     * @param accessor accessor of the attribute
+     */
+    default void read(ResultSet resultSet, int index, Object entity, PropertyAccessor accessor) throws SQLException {
+        accessor.set(entity, readValue(resultSet, index));
+    }
+}
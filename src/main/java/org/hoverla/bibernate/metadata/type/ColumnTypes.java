@@ -0,0 +1,313 @@
+package org.hoverla.bibernate.metadata.type;
+
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.UtilityClass;
+import org.hoverla.bibernate.metadata.accessor.PropertyAccessor;
+import org.hoverla.bibernate.util.EntityUtils;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static java.util.Map.entry;
+
+/**
+ * Built-in {@link ColumnType}s.
+ * Primitive attributes are bound and read with {@code setLong}/{@code getLong}-style methods through
+ * primitive-specialized accessors, so their values are never boxed. SQL NULL read into a primitive
+ * attribute sets its default value (0 or false).
+ */
+@UtilityClass
+public class ColumnTypes {
+
+    /**
+     * Fallback type relying on {@code setObject}/{@code getObject}
+     */
+    public static final ColumnType OBJECT = new ColumnType() {
+        @Override
+        public void bindValue(PreparedStatement statement, int index, Object value) throws SQLException {
+            statement.setObject(index, value);
+        }
+
+        @Override
+        public Object readValue(ResultSet resultSet, int index) throws SQLException {
+            return EntityUtils.resolveColumnValue(resultSet.getObject(index));
+        }
+    };
+
+    public static final ColumnType STRING = new ColumnType() {
+        @Override
+        public void bindValue(PreparedStatement statement, int index, Object value) throws SQLException {
+            if (value == null) {
+                statement.setNull(index, Types.VARCHAR);
+            } else {
+                statement.setString(index, value.toString());
+            }
+        }
+
+        @Override
+        public Object readValue(ResultSet resultSet, int index) throws SQLException {
+            return resultSet.getString(index);
+        }
+    };
+
+    public static final ColumnType LOCAL_DATE_TIME = new ColumnType() {
+        @Override
+        public void bindValue(PreparedStatement statement, int index, Object value) throws SQLException {
+            if (value instanceof LocalDateTime dateTime) {
+                statement.setTimestamp(index, Timestamp.valueOf(dateTime));
+            } else if (value == null) {
+                statement.setNull(index, Types.TIMESTAMP);
+            } else {
+                statement.setObject(index, value);
+            }
+        }
+
+        @Override
+        public Object readValue(ResultSet resultSet, int index) throws SQLException {
+            var timestamp = resultSet.getTimestamp(index);
+            return timestamp == null ? null : timestamp.toLocalDateTime();
+        }
+    };
+
+    public static final ColumnType LOCAL_DATE = new ColumnType() {
+        @Override
+        public void bindValue(PreparedStatement statement, int index, Object value) throws SQLException {
+            if (value instanceof LocalDate date) {
+                statement.setDate(index, Date.valueOf(date));
+            } else if (value == null) {
+                statement.setNull(index, Types.DATE);
+            } else {
+                statement.setObject(index, value);
+            }
+        }
+
+        @Override
+        public Object readValue(ResultSet resultSet, int index) throws SQLException {
+            var date = resultSet.getDate(index);
+            return date == null ? null : date.toLocalDate();
+        }
+    };
+
+    public static final ColumnType BIG_DECIMAL = new ColumnType() {
+        @Override
+        public void bindValue(PreparedStatement statement, int index, Object value) throws SQLException {
+            if (value instanceof BigDecimal decimal) {
+                statement.setBigDecimal(index, decimal);
+            } else if (value == null) {
+                statement.setNull(index, Types.NUMERIC);
+            } else {
+                statement.setObject(index, value);
+            }
+        }
+
+        @Override
+        public Object readValue(ResultSet resultSet, int index) throws SQLException {
+            return resultSet.getBigDecimal(index);
+        }
+    };
+
+    private static final Map<Class<?>, ColumnType> COLUMN_TYPES = Map.ofEntries(
+        entry(int.class, new IntColumnType(true)),
+        entry(Integer.class, new IntColumnType(false)),
+        entry(long.class, new LongColumnType(true)),
+        entry(Long.class, new LongColumnType(false)),
+        entry(double.class, new DoubleColumnType(true)),
+        entry(Double.class, new DoubleColumnType(false)),
+        entry(boolean.class, new BooleanColumnType(true)),
+        entry(Boolean.class, new BooleanColumnType(false)),
+        entry(String.class, STRING),
+        entry(LocalDateTime.class, LOCAL_DATE_TIME),
+        entry(LocalDate.class, LOCAL_DATE),
+        entry(BigDecimal.class, BIG_DECIMAL)
+    );
+
+    /**
+     * Chooses the column type for a Java type.
+     *
+     * @param javaType type of the entity attribute
+     * @return specialized column type or {@link #OBJECT}
+     */
+    public static ColumnType resolve(Class<?> javaType) {
+        return COLUMN_TYPES.getOrDefault(javaType, OBJECT);
+    }
+
+    @RequiredArgsConstructor
+    private static final class IntColumnType implements ColumnType {
+        private final boolean primitive;
+
+        @Override
+        public void bindValue(PreparedStatement statement, int index, Object value) throws SQLException {
+            if (value instanceof Number number) {
+                statement.setInt(index, number.intValue());
+            } else if (value == null) {
+                statement.setNull(index, Types.INTEGER);
+            } else {
+                statement.setObject(index, value);
+            }
+        }
+
+        @Override
+        public Object readValue(ResultSet resultSet, int index) throws SQLException {
+            var value = resultSet.getInt(index);
+            return resultSet.wasNull() ? null : value;
+        }
+
+        @Override
+        public void bind(PreparedStatement statement, int index, Object entity, PropertyAccessor accessor)
+                throws SQLException {
+            if (primitive) {
+                statement.setInt(index, accessor.getInt(entity));
+            } else {
+                bindValue(statement, index, accessor.get(entity));
+            }
+        }
+
+        @Override
+        public void read(ResultSet resultSet, int index, Object entity, PropertyAccessor accessor)
+                throws SQLException {
+            var value = resultSet.getInt(index);
+            if (primitive) {
+                accessor.setInt(entity, value);
+            } else {
+                accessor.set(entity, resultSet.wasNull() ? null : value);
+            }
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static final class LongColumnType implements ColumnType {
+        private final boolean primitive;
+
+        @Override
+        public void bindValue(PreparedStatement statement, int index, Object value) throws SQLException {
+            if (value instanceof Number number) {
+                statement.setLong(index, number.longValue());
+            } else if (value == null) {
+                statement.setNull(index, Types.BIGINT);
+            } else {
+                statement.setObject(index, value);
+            }
+        }
+
+        @Override
+        public Object readValue(ResultSet resultSet, int index) throws SQLException {
+            var value = resultSet.getLong(index);
+            return resultSet.wasNull() ? null : value;
+        }
+
+        @Override
+        public void bind(PreparedStatement statement, int index, Object entity, PropertyAccessor accessor)
+                throws SQLException {
+            if (primitive) {
+                statement.setLong(index, accessor.getLong(entity));
+            } else {
+                bindValue(statement, index, accessor.get(entity));
+            }
+        }
+
+        @Override
+        public void read(ResultSet resultSet, int index, Object entity, PropertyAccessor accessor)
+                throws SQLException {
+            var value = resultSet.getLong(index);
+            if (primitive) {
+                accessor.setLong(entity, value);
+            } else {
+                accessor.set(entity, resultSet.wasNull() ? null : value);
+            }
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static final class DoubleColumnType implements ColumnType {
+        private final boolean primitive;
+
+        @Override
+        public void bindValue(PreparedStatement statement, int index, Object value) throws SQLException {
+            if (value instanceof Number number) {
+                statement.setDouble(index, number.doubleValue());
+            } else if (value == null) {
+                statement.setNull(index, Types.DOUBLE);
+            } else {
+                statement.setObject(index, value);
+            }
+        }
+
+        @Override
+        public Object readValue(ResultSet resultSet, int index) throws SQLException {
+            var value = resultSet.getDouble(index);
+            return resultSet.wasNull() ? null : value;
+        }
+
+        @Override
+        public void bind(PreparedStatement statement, int index, Object entity, PropertyAccessor accessor)
+                throws SQLException {
+            if (primitive) {
+                statement.setDouble(index, accessor.getDouble(entity));
+            } else {
+                bindValue(statement, index, accessor.get(entity));
+            }
+        }
+
+        @Override
+        public void read(ResultSet resultSet, int index, Object entity, PropertyAccessor accessor)
+                throws SQLException {
+            var value = resultSet.getDouble(index);
+            if (primitive) {
+                accessor.setDouble(entity, value);
+            } else {
+                accessor.set(entity, resultSet.wasNull() ? null : value);
+            }
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static final class BooleanColumnType implements ColumnType {
+        private final boolean primitive;
+
+        @Override
+        public void bindValue(PreparedStatement statement, int index, Object value) throws SQLException {
+            if (value instanceof Boolean bool) {
+                statement.setBoolean(index, bool);
+            } else if (value == null) {
+                statement.setNull(index, Types.BOOLEAN);
+            } else {
+                statement.setObject(index, value);
+            }
+        }
+
+        @Override
+        public Object readValue(ResultSet resultSet, int index) throws SQLException {
+            var value = resultSet.getBoolean(index);
+            return resultSet.wasNull() ? null : value;
+        }
+
+        @Override
+        public void bind(PreparedStatement statement, int index, Object entity, PropertyAccessor accessor)
+                throws SQLException {
+            if (primitive) {
+                statement.setBoolean(index, accessor.getBoolean(entity));
+            } else {
+                bindValue(statement, index, accessor.get(entity));
+            }
+        }
+
+        @Override
+        public void read(ResultSet resultSet, int index, Object entity, PropertyAccessor accessor)
+                throws SQLException {
+            var value = resultSet.getBoolean(index);
+            if (primitive) {
+                accessor.setBoolean(entity, value);
+            } else {
+                accessor.set(entity, resultSet.wasNull() ? null : value);
+            }
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package org.hoverla.bibernate.processor;
+
+import org.hoverla.bibernate.annotation.Column;
+import org.hoverla.bibernate.annotation.Entity;
+import org.hoverla.bibernate.annotation.Id;
+import org.hoverla.bibernate.annotation.ManyToOne;
+import org.hoverla.bibernate.annotation.OneToMany;
+import org.hoverla.bibernate.annotation.OneToOne;
+import org.hoverla.bibernate.metadata.EntityScanner;
+import org.hoverla.bibernate.metadata.accessor.EntityMapper;
+import org.hoverla.bibernate.metadata.accessor.PropertyAccessor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedSourceVersion;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Build-time annotation processor that emits an {@link EntityMapper} for every top-level {@code @Entity}.
+ * The generated mapper instantiates the entity and reads/writes its mapped fields with plain Java code,
+ * either directly for non-private fields or through their getters and setters.
+ * Accessors of {@code int}, {@code long}, {@code double} and {@code boolean} fields also override
+ * the primitive-specialized methods of {@link PropertyAccessor}, so these values are not boxed.
+ * If some mapped field is not accessible from the entity package, no mapper is generated
+ * and Bibernate keeps using method handles for that entity.
+ * <p>
+ * The processor also writes the names of all the entities to {@link EntityScanner#ENTITY_INDEX_LOCATION},
+ * which lets the session factory skip classpath scanning at startup.
+ * <p>
+ * The processor is not registered automatically. Enable it with
+ * {@code -processor org.hoverla.bibernate.processor.EntityMapperProcessor}
+ * (together with Lombok's processor if it is used).
+ */
+@SupportedAnnotationTypes("org.hoverla.bibernate.annotation.Entity")
+@SupportedSourceVersion(SourceVersion.RELEASE_17)
+public class EntityMapperProcessor extends AbstractProcessor {
+    private static final Map<String, String> PRIMITIVE_ACCESSOR_NAMES =
+        Map.of("int", "Int", "long", "Long", "double", "Double", "boolean", "Boolean");
+
+    private final Set<String> entityNames = new TreeSet<>();
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            writeEntityIndex();
+            return false;
+        }
+        for (Element element : roundEnv.getElementsAnnotatedWith(Entity.class)) {
+            if (element.getKind() != ElementKind.CLASS) {
+                continue;
+            }
+            var entity = (TypeElement) element;
+            entityNames.add(processingEnv.getElementUtils().getBinaryName(entity).toString());
+            if (entity.getEnclosingElement().getKind() == ElementKind.PACKAGE) {
+                processEntity(entity);
+            }
+        }
+        return false;
+    }
+
+    private void writeEntityIndex() {
+        if (entityNames.isEmpty()) {
+            return;
+        }
+        try {
+            var index = processingEnv.getFiler()
+                .createResource(StandardLocation.CLASS_OUTPUT, "", EntityScanner.ENTITY_INDEX_LOCATION);
+            try (var out = new PrintWriter(index.openWriter())) {
+                entityNames.forEach(out::println);
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                "Could not write entity index: " + e.getMessage());
+        }
+    }
+
+    private void processEntity(TypeElement entity) {
+        if (!hasAccessibleNoArgConstructor(entity)) {
+            note(entity, "no accessible no-arg constructor");
+            return;
+        }
+        var attributes = new ArrayList<MappedAttribute>();
+        for (VariableElement field : ElementFilter.fieldsIn(entity.getEnclosedElements())) {
+            if (field.getModifiers().contains(Modifier.STATIC) || !isMapped(field)) {
+                continue;
+            }
+            var attribute = resolveAttribute(entity, field);
+            if (attribute.isEmpty()) {
+                note(entity, "field `%s` is private and has no accessible getter and setter"
+                    .formatted(field.getSimpleName()));
+                return;
+            }
+            attributes.add(attribute.get());
+        }
+        try {
+            writeMapper(entity, attributes);
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                "Could not generate entity mapper: " + e.getMessage(), entity);
+        }
+    }
+
+    private boolean isMapped(VariableElement field) {
+        return Stream.of(Id.class, Column.class, ManyToOne.class, OneToOne.class, OneToMany.class)
+            .anyMatch(annotation -> field.getAnnotation(annotation) != null);
+    }
+
+    private boolean isSnapshotAttribute(VariableElement field) {
+        return field.getAnnotation(Id.class) != null || field.getAnnotation(Column.class) != null;
+    }
+
+    private boolean hasAccessibleNoArgConstructor(TypeElement entity) {
+        return ElementFilter.constructorsIn(entity.getEnclosedElements()).stream()
+            .anyMatch(constructor -> constructor.getParameters().isEmpty()
+                && !constructor.getModifiers().contains(Modifier.PRIVATE));
+    }
+
+    private Optional<MappedAttribute> resolveAttribute(TypeElement entity, VariableElement field) {
+        var name = field.getSimpleName().toString();
+        var type = processingEnv.getTypeUtils().erasure(field.asType()).toString();
+        var snapshot = isSnapshotAttribute(field);
+        if (!field.getModifiers().contains(Modifier.PRIVATE)) {
+            return Optional.of(new MappedAttribute(name, type, "entity." + name, "entity." + name + " = %s", snapshot));
+        }
+        var capitalized = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        var getterPrefix = field.asType().getKind() == TypeKind.BOOLEAN ? "is" : "get";
+        var getter = findMethod(entity, getterPrefix + capitalized, 0);
+        var setter = findMethod(entity, "set" + capitalized, 1);
+        if (getter.isEmpty() || setter.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(new MappedAttribute(name, type, "entity.%s()".formatted(getter.get()),
+            "entity.%s(%%s)".formatted(setter.get()), snapshot));
+    }
+
+    private Optional<String> findMethod(TypeElement entity, String methodName, int parametersCount) {
+        return ElementFilter.methodsIn(entity.getEnclosedElements()).stream()
+            .filter(method -> method.getSimpleName().contentEquals(methodName))
+            .filter(method -> method.getParameters().size() == parametersCount)
+            .filter(method -> !method.getModifiers().contains(Modifier.PRIVATE))
+            .map(ExecutableElement::getSimpleName)
+            .map(Object::toString)
+            .findFirst();
+    }
+
+    private void writeMapper(TypeElement entity, List<MappedAttribute> attributes) throws IOException {
+        var packageName = processingEnv.getElementUtils().getPackageOf(entity).getQualifiedName().toString();
+        var entityName = entity.getSimpleName().toString();
+        var mapperName = entityName + EntityMapper.CLASS_NAME_SUFFIX;
+        var sourceFile = processingEnv.getFiler()
+            .createSourceFile(packageName.isEmpty() ? mapperName : packageName + "." + mapperName, entity);
+        try (var out = new PrintWriter(sourceFile.openWriter())) {
+            if (!packageName.isEmpty()) {
+                out.printf("package %s;%n%n", packageName);
+            }
+            out.println("import org.hoverla.bibernate.metadata.accessor.EntityMapper;");
+            out.println("import org.hoverla.bibernate.metadata.accessor.PropertyAccessor;");
+            out.println();
+            out.printf("@javax.annotation.processing.Generated(\"%s\")%n", getClass().getName());
+            out.println("@SuppressWarnings({\"unchecked\", \"rawtypes\"})");
+            out.printf("public final class %s implements EntityMapper<%s> {%n", mapperName, entityName);
+            for (var attribute : attributes) {
+                out.printf("""
+                        private static final PropertyAccessor %s = new PropertyAccessor() {
+                            @Override
+                            public Object get(Object object) {
+                                var entity = (%s) object;
+                                return %s;
+                            }
+
+                            @Override
+                            public void set(Object object, Object value) {
+                                var entity = (%s) object;
+                                %s;
+                            }
+                    """, attribute.constantName(), entityName, attribute.getter(), entityName,
+                    attribute.setter().formatted("(" + attribute.type() + ") value"));
+                var primitiveName = PRIMITIVE_ACCESSOR_NAMES.get(attribute.type());
+                if (primitiveName != null) {
+                    out.printf("""
+
+                                @Override
+                                public %s get%s(Object object) {
+                                    var entity = (%s) object;
+                                    return %s;
+                                }
+
+                                @Override
+                                public void set%s(Object object, %s value) {
+                                    var entity = (%s) object;
+                                    %s;
+                                }
+                        """, attribute.type(), primitiveName, entityName, attribute.getter(),
+                        primitiveName, attribute.type(), entityName, attribute.setter().formatted("value"));
+                }
+                out.printf("    };%n%n");
+            }
+            out.printf("""
+                    @Override
+                    public %s newInstance() {
+                        return new %s();
+                    }
+
+                    @Override
+                    public PropertyAccessor getAccessor(String attributeName) {
+                        return switch (attributeName) {
+                """, entityName, entityName);
+            for (var attribute : attributes) {
+                out.printf("            case \"%s\" -> %s;%n", attribute.name(), attribute.constantName());
+            }
+            out.printf("""
+                            default -> null;
+                        };
+                    }
+
+                    @Override
+                    public Object[] extractSnapshot(%s entity) {
+                        return new Object[]{%s};
+                    }
+                }
+                """, entityName, attributes.stream()
+                .filter(MappedAttribute::snapshot)
+                .map(MappedAttribute::getter)
+                .collect(Collectors.joining(", ")));
+        }
+    }
+
+    private void note(TypeElement entity, String reason) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+            "Skipping mapper generation for %s: %s".formatted(entity.getQualifiedName(), reason), entity);
+    }
+
+    private record MappedAttribute(String name, String type, String getter, String setter, boolean snapshot) {
+        String constantName() {
+            return name.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toUpperCase() + "_ACCESSOR";
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package org.hoverla.bibernate.proxy;
+
+/**
+ * Implemented by the generated subclasses of lazily loaded entities
+ */
+public interface EntityProxy {
+
+    LazyInitializer getBibernateLazyInitializer();
+
+    void setBibernateLazyInitializer(LazyInitializer lazyInitializer);
+}
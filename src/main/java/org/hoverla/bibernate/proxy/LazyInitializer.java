@@ -0,0 +1,71 @@
+package org.hoverla.bibernate.proxy;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.bytebuddy.implementation.bind.annotation.AllArguments;
+import net.bytebuddy.implementation.bind.annotation.Origin;
+import net.bytebuddy.implementation.bind.annotation.RuntimeType;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.function.Supplier;
+
+/**
+ * Holds the id of a proxied entity and loads the entity on the first call that needs its state.
+ * The id getter is answered from the id, {@code toString} of an uninitialized proxy does not load it either,
+ * so logging an entity does not initialize its associations.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class LazyInitializer {
+    @Getter
+    private final Class<?> entityType;
+    @Getter
+    private final Object id;
+    /**
+     * Name of the getter returning the id, {@code null} if the entity has no such getter
+     */
+    private final String idGetterName;
+    private final Supplier<Object> loader;
+    private Object implementation;
+
+    public boolean isInitialized() {
+        return implementation != null;
+    }
+
+    /**
+     * Returns the proxied entity, it is loaded on the first call
+     */
+    public Object getImplementation() {
+        if (implementation == null) {
+            log.trace("Initializing proxy of {} with id {}", entityType.getSimpleName(), id);
+            implementation = loader.get();
+        }
+        return implementation;
+    }
+
+    /**
+     * Handles the calls of the proxy methods
+     */
+    @RuntimeType
+    public Object intercept(@Origin Method method, @AllArguments Object[] arguments) throws Throwable {
+        if (method.getParameterCount() == 0) {
+            if (method.getName().equals(idGetterName)) {
+                return id;
+            }
+            if (!isInitialized() && method.getName().equals("toString")) {
+                return "%s#%s(proxy)".formatted(entityType.getSimpleName(), id);
+            }
+        }
+        var target = getImplementation();
+        if (!method.canAccess(target)) {
+            method.setAccessible(true);
+        }
+        try {
+            return method.invoke(target, arguments);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package org.hoverla.bibernate.proxy;
+
+import lombok.extern.slf4j.Slf4j;
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.implementation.FieldAccessor;
+import net.bytebuddy.implementation.MethodDelegation;
+import org.hoverla.bibernate.exception.proxy.ProxyCreationException;
+import org.hoverla.bibernate.metadata.EntityMetadata;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import static net.bytebuddy.matcher.ElementMatchers.isClone;
+import static net.bytebuddy.matcher.ElementMatchers.isDeclaredBy;
+import static net.bytebuddy.matcher.ElementMatchers.isFinalizer;
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static net.bytebuddy.matcher.ElementMatchers.not;
+
+/**
+ * Session factory scoped factory of lazy entity proxies.
+ * A proxy class is generated once per entity type as a subclass of the entity implementing {@link EntityProxy},
+ * its overridable methods are delegated to the {@link LazyInitializer} of the proxy instance.
+ */
+@Slf4j
+public class ProxyFactory {
+    private static final String INITIALIZER_FIELD = "$$bibernateLazyInitializer";
+
+    private final Map<Class<?>, ProxyType> proxyTypes = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a proxy of the entity with the given id
+     *
+     * @param metadata metadata of the proxied entity
+     * @param id id of the proxied entity
+     * @param loader loads the entity on the first access to the proxy
+     * @return proxy instance
+     * @throws ProxyCreationException if the entity can not be subclassed
+     */
+    public <T> T createProxy(EntityMetadata<T> metadata, Object id, Supplier<Object> loader) {
+        var entityType = metadata.getEntityType();
+        var proxyType = proxyTypes.computeIfAbsent(entityType, type -> generateProxyType(metadata));
+        try {
+            var proxy = proxyType.constructor().newInstance();
+            var idGetterName = proxyType.idGetter() != null && wrap(proxyType.idGetter().getReturnType()).isInstance(id)
+                ? proxyType.idGetter().getName()
+                : null;
+            ((EntityProxy) proxy).setBibernateLazyInitializer(
+                new LazyInitializer(entityType, id, idGetterName, loader));
+            return entityType.cast(proxy);
+        } catch (ReflectiveOperationException e) {
+            throw new ProxyCreationException(entityType, e);
+        }
+    }
+
+    private ProxyType generateProxyType(EntityMetadata<?> metadata) {
+        var entityType = metadata.getEntityType();
+        try {
+            var lookup = MethodHandles.privateLookupIn(entityType, MethodHandles.lookup());
+            Class<?> proxyClass = new ByteBuddy()
+                .subclass(entityType)
+                .implement(EntityProxy.class)
+                .defineField(INITIALIZER_FIELD, LazyInitializer.class, Visibility.PRIVATE)
+                .method(isDeclaredBy(EntityProxy.class))
+                .intercept(FieldAccessor.ofField(INITIALIZER_FIELD))
+                .method(not(isDeclaredBy(EntityProxy.class)).and(not(isFinalizer())).and(not(isClone())))
+                .intercept(MethodDelegation.withDefaultConfiguration()
+                    .filter(named("intercept"))
+                    .toField(INITIALIZER_FIELD))
+                .make()
+                .load(entityType.getClassLoader(), ClassLoadingStrategy.UsingLookup.of(lookup))
+                .getLoaded();
+            log.debug("Generated proxy class {} for {}", proxyClass.getName(), entityType.getSimpleName());
+            Constructor<?> constructor = proxyClass.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return new ProxyType(constructor, findIdGetter(metadata));
+        } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+            throw new ProxyCreationException(entityType, e);
+        }
+    }
+
+    private Method findIdGetter(EntityMetadata<?> metadata) {
+        var idName = metadata.getIdAttribute().getName();
+        var getterName = "get" + Character.toUpperCase(idName.charAt(0)) + idName.substring(1);
+        return Arrays.stream(metadata.getEntityType().getMethods())
+            .filter(method -> method.getName().equals(getterName) && method.getParameterCount() == 0)
+            .findAny()
+            .orElse(null);
+    }
+
+    private static Class<?> wrap(Class<?> type) {
+        return MethodType.methodType(type).wrap().returnType();
+    }
+
+    private record ProxyType(Constructor<?> constructor, Method idGetter) {
+    }
+}
@@ -0,0 +1,27 @@
+package org.hoverla.bibernate.query;
+
+import org.hoverla.bibernate.metadata.EntityMetadata;
+
+import java.util.List;
+
+/**
+ * {@code column <operator> ?} condition
+ */
+record Comparison(String field, Operator operator, Object value) implements Predicate {
+
+    @Override
+    public void appendShape(StringBuilder shape) {
+        shape.append(operator).append('(').append(Restrictions.shapeOf(field)).append(')');
+    }
+
+    @Override
+    public void appendSql(StringBuilder sql, EntityMetadata<?> metadata) {
+        sql.append(Restrictions.columnOf(metadata, field).getColumnName())
+            .append(' ').append(operator.getSql()).append(" ?");
+    }
+
+    @Override
+    public void collectParameters(List<QueryParameter> parameters, EntityMetadata<?> metadata) {
+        parameters.add(new QueryParameter(Restrictions.columnOf(metadata, field), value));
+    }
+}
@@ -0,0 +1,109 @@
+package org.hoverla.bibernate.query;
+
+import lombok.Getter;
+import org.hoverla.bibernate.dialect.Dialect;
+import org.hoverla.bibernate.metadata.EntityMetadata;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Query of the entities of a type by a combination of conditions, for example
+ * <pre>{@code
+ * Criteria.forEntity(Person.class)
+ *     .where(and(gt("age", 18), like("name", "J%")))
+ *     .orderBy(Order.asc("name"))
+ *     .limit(10);
+ * }</pre>
+ * The SQL of a query is cached by its {@link #getShape() shape}, so queries differing only by values
+ * reuse the same statement.
+ */
+@Getter
+public class Criteria<T> {
+    private static final String SELECT_TEMPLATE = "SELECT %s FROM %s%s%s%s;";
+
+    private final Class<T> entityType;
+    private Predicate predicate;
+    private final List<Order> orders = new ArrayList<>();
+    private Integer limit;
+
+    private Criteria(Class<T> entityType) {
+        this.entityType = entityType;
+    }
+
+    public static <T> Criteria<T> forEntity(Class<T> entityType) {
+        return new Criteria<>(entityType);
+    }
+
+    /**
+     * Sets the condition of the query, the query selects all the rows without it
+     */
+    public Criteria<T> where(Predicate predicate) {
+        this.predicate = predicate;
+        return this;
+    }
+
+    public Criteria<T> orderBy(Order... orders) {
+        this.orders.addAll(List.of(orders));
+        return this;
+    }
+
+    public Criteria<T> limit(int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be positive, got %d".formatted(limit));
+        }
+        this.limit = limit;
+        return this;
+    }
+
+    /**
+     * Returns the structure of the query without the values of its parameters
+     */
+    public String getShape() {
+        var shape = new StringBuilder();
+        if (predicate != null) {
+            predicate.appendShape(shape);
+        }
+        orders.forEach(order -> shape.append(";").append(Restrictions.shapeOf(order.field()))
+            .append(order.ascending() ? "+" : "-"));
+        if (limit != null) {
+            shape.append(";limit");
+        }
+        return shape.toString();
+    }
+
+    /**
+     * Renders {@code SELECT * FROM t WHERE ... ORDER BY ...} followed by the limit clause of the dialect
+     */
+    public String toSql(EntityMetadata<T> metadata, Dialect dialect) {
+        return toSql(metadata, dialect, "*");
+    }
+
+    /**
+     * Renders the query selecting the given columns, e.g. of a {@link Projection}
+     */
+    public String toSql(EntityMetadata<T> metadata, Dialect dialect, String selectList) {
+        var where = new StringBuilder();
+        if (predicate != null) {
+            where.append(" WHERE ");
+            predicate.appendSql(where, metadata);
+        }
+        var orderBy = new StringJoiner(", ", " ORDER BY ", "").setEmptyValue("");
+        orders.forEach(order -> orderBy.add(Restrictions.columnOf(metadata, order.field()).getColumnName()
+            + (order.ascending() ? " ASC" : " DESC")));
+        return SELECT_TEMPLATE.formatted(selectList, metadata.getTableName(), where, orderBy,
+            limit != null ? dialect.getLimitClause() : "");
+    }
+
+    /**
+     * Returns the values of the condition placeholders in binding order, the limit is bound after them
+     */
+    public List<QueryParameter> getParameters(EntityMetadata<T> metadata) {
+        var parameters = new ArrayList<QueryParameter>();
+        if (predicate != null) {
+            predicate.collectParameters(parameters, metadata);
+        }
+        return parameters;
+    }
+}
@@ -0,0 +1,45 @@
+package org.hoverla.bibernate.query;
+
+import org.hoverla.bibernate.metadata.EntityMetadata;
+
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * {@code column IN (?, ...)} condition. The number of placeholders is padded to a power of two
+ * by repeating the last value, so lists of different sizes share a few shapes.
+ * An empty list matches no rows.
+ */
+record InPredicate(String field, List<?> values) implements Predicate {
+
+    @Override
+    public void appendShape(StringBuilder shape) {
+        shape.append("IN(").append(Restrictions.shapeOf(field)).append(',').append(placeholders()).append(')');
+    }
+
+    @Override
+    public void appendSql(StringBuilder sql, EntityMetadata<?> metadata) {
+        var column = Restrictions.columnOf(metadata, field).getColumnName();
+        if (values.isEmpty()) {
+            sql.append("1 = 0");
+            return;
+        }
+        var params = new StringJoiner(",", column + " IN (", ")");
+        for (int i = 0; i < placeholders(); i++) {
+            params.add("?");
+        }
+        sql.append(params);
+    }
+
+    @Override
+    public void collectParameters(List<QueryParameter> parameters, EntityMetadata<?> metadata) {
+        var attribute = Restrictions.columnOf(metadata, field);
+        for (int i = 0; i < placeholders(); i++) {
+            parameters.add(new QueryParameter(attribute, values.get(Math.min(i, values.size() - 1))));
+        }
+    }
+
+    private int placeholders() {
+        return values.size() <= 1 ? values.size() : Integer.highestOneBit(values.size() - 1) << 1;
+    }
+}
@@ -0,0 +1,40 @@
+package org.hoverla.bibernate.query;
+
+import org.hoverla.bibernate.metadata.EntityMetadata;
+
+import java.util.List;
+
+/**
+ * Conditions joined with {@code AND} or {@code OR} in parentheses
+ */
+record Junction(String operator, List<Predicate> predicates) implements Predicate {
+
+    @Override
+    public void appendShape(StringBuilder shape) {
+        shape.append(operator).append('(');
+        for (int i = 0; i < predicates.size(); i++) {
+            if (i > 0) {
+                shape.append(',');
+            }
+            predicates.get(i).appendShape(shape);
+        }
+        shape.append(')');
+    }
+
+    @Override
+    public void appendSql(StringBuilder sql, EntityMetadata<?> metadata) {
+        sql.append('(');
+        for (int i = 0; i < predicates.size(); i++) {
+            if (i > 0) {
+                sql.append(' ').append(operator).append(' ');
+            }
+            predicates.get(i).appendSql(sql, metadata);
+        }
+        sql.append(')');
+    }
+
+    @Override
+    public void collectParameters(List<QueryParameter> parameters, EntityMetadata<?> metadata) {
+        predicates.forEach(predicate -> predicate.collectParameters(parameters, metadata));
+    }
+}
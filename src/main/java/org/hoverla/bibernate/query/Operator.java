@@ -0,0 +1,15 @@
+package org.hoverla.bibernate.query;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Comparison operators of the {@link Restrictions}
+ */
+@Getter
+@RequiredArgsConstructor
+public enum Operator {
+    EQ("="), NE("<>"), LT("<"), LE("<="), GT(">"), GE(">="), LIKE("LIKE");
+
+    private final String sql;
+}
@@ -0,0 +1,15 @@
+package org.hoverla.bibernate.query;
+
+/**
+ * {@code ORDER BY} item of a {@link Criteria} query
+ */
+public record Order(String field, boolean ascending) {
+
+    public static Order asc(String field) {
+        return new Order(field, true);
+    }
+
+    public static Order desc(String field) {
+        return new Order(field, false);
+    }
+}
@@ -0,0 +1,28 @@
+package org.hoverla.bibernate.query;
+
+import org.hoverla.bibernate.metadata.EntityMetadata;
+
+import java.util.List;
+
+/**
+ * Condition of a {@link Criteria} query, see {@link Restrictions} for the available conditions.
+ * The shape of a condition identifies its SQL: conditions of the same shape render the same SQL
+ * and differ only by the values of their parameters.
+ */
+public interface Predicate {
+
+    /**
+     * Appends the structure of the condition, i.e. fields and operators without values
+     */
+    void appendShape(StringBuilder shape);
+
+    /**
+     * Appends the SQL of the condition with {@code ?} placeholders for the values
+     */
+    void appendSql(StringBuilder sql, EntityMetadata<?> metadata);
+
+    /**
+     * Adds the values of the placeholders in the order they appear in the SQL
+     */
+    void collectParameters(List<QueryParameter> parameters, EntityMetadata<?> metadata);
+}
@@ -0,0 +1,176 @@
+package org.hoverla.bibernate.query;
+
+import lombok.Getter;
+import org.hoverla.bibernate.exception.query.ProjectionMappingException;
+import org.hoverla.bibernate.metadata.AttributeMetadata;
+import org.hoverla.bibernate.metadata.EntityMetadata;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.RecordComponent;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Maps the columns of an entity table into a record or an interface, e.g.
+ * {@code record PersonName(Integer id, String name)} or {@code interface PersonName { String getName(); }}.
+ * Record components and interface getters are matched to the entity fields by name.
+ * Only the matched columns are selected, and rows are read by position into the projection
+ * through a constructor handle resolved once per projection type.
+ */
+public class Projection<P> {
+    @Getter
+    private final Class<P> type;
+    /**
+     * Selected attributes in the order of the columns
+     */
+    @Getter
+    private final List<AttributeMetadata> attributes;
+    private final MethodHandle factory;
+
+    private Projection(Class<P> type, List<AttributeMetadata> attributes, MethodHandle factory) {
+        this.type = type;
+        this.attributes = attributes;
+        this.factory = factory;
+    }
+
+    /**
+     * Resolves the projection of the entity into the given record or interface
+     *
+     * @throws ProjectionMappingException if the type is neither a record nor an interface
+     * or a component does not match a column of the entity
+     */
+    public static <P> Projection<P> of(EntityMetadata<?> metadata, Class<P> type) {
+        if (type.isRecord()) {
+            return ofRecord(metadata, type);
+        }
+        if (type.isInterface()) {
+            return ofInterface(metadata, type);
+        }
+        throw new ProjectionMappingException(type, "only records and interfaces are supported");
+    }
+
+    /**
+     * Returns {@code a, b, ...}, the columns of the select list
+     */
+    public String getSelectList() {
+        var columns = new StringJoiner(", ");
+        attributes.forEach(attribute -> columns.add(attribute.getColumnName()));
+        return columns.toString();
+    }
+
+    /**
+     * Reads the current row, whose columns are selected in the order of {@link #getAttributes()}
+     */
+    public P read(ResultSet resultSet) throws SQLException {
+        var values = new Object[attributes.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = attributes.get(i).getColumnType().readValue(resultSet, i + 1);
+        }
+        try {
+            return type.cast(factory.invoke(values));
+        } catch (Throwable e) {
+            throw new ProjectionMappingException(type, "can not create an instance from " + Arrays.toString(values),
+                e);
+        }
+    }
+
+    private static <P> Projection<P> ofRecord(EntityMetadata<?> metadata, Class<P> type) {
+        var components = type.getRecordComponents();
+        var attributes = new ArrayList<AttributeMetadata>(components.length);
+        for (var component : components) {
+            attributes.add(columnOf(metadata, type, component.getName()));
+        }
+        var parameterTypes = Arrays.stream(components).map(RecordComponent::getType).toArray(Class<?>[]::new);
+        try {
+            var lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+            var constructor = lookup.findConstructor(type, MethodType.methodType(void.class, parameterTypes));
+            var factory = constructor.asSpreader(Object[].class, components.length)
+                .asType(MethodType.methodType(Object.class, Object[].class));
+            return new Projection<>(type, List.copyOf(attributes), factory);
+        } catch (ReflectiveOperationException e) {
+            throw new ProjectionMappingException(type, "canonical constructor is not accessible", e);
+        }
+    }
+
+    private static <P> Projection<P> ofInterface(EntityMetadata<?> metadata, Class<P> type) {
+        var attributes = new ArrayList<AttributeMetadata>();
+        var valueIndexes = new HashMap<Method, Integer>();
+        for (var method : type.getMethods()) {
+            if (method.isDefault() || Modifier.isStatic(method.getModifiers())) {
+                continue;
+            }
+            if (method.getParameterCount() > 0) {
+                throw new ProjectionMappingException(type, "`%s` is not a getter".formatted(method.getName()));
+            }
+            var attribute = columnOf(metadata, type, propertyNameOf(method));
+            if (!attributes.contains(attribute)) {
+                attributes.add(attribute);
+            }
+            valueIndexes.put(method, attributes.indexOf(attribute));
+        }
+        try {
+            var factory = MethodHandles.lookup()
+                .findStatic(Projection.class, "newInterfaceInstance",
+                    MethodType.methodType(Object.class, Class.class, Map.class, Object[].class))
+                .bindTo(type)
+                .bindTo(Map.copyOf(valueIndexes));
+            return new Projection<>(type, List.copyOf(attributes), factory);
+        } catch (ReflectiveOperationException e) {
+            throw new ProjectionMappingException(type, "can not resolve the instance factory", e);
+        }
+    }
+
+    private static Object newInterfaceInstance(Class<?> type, Map<Method, Integer> valueIndexes, Object[] values) {
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            var index = valueIndexes.get(method);
+            if (index != null) {
+                return values[index];
+            }
+            if (method.isDefault()) {
+                return InvocationHandler.invokeDefault(proxy, method, args);
+            }
+            return switch (method.getName()) {
+                case "toString" -> type.getSimpleName() + Arrays.toString(values);
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                default -> throw new UnsupportedOperationException(method.getName());
+            };
+        });
+    }
+
+    private static String propertyNameOf(Method getter) {
+        var name = getter.getName();
+        if (name.startsWith("get") && name.length() > 3) {
+            return decapitalize(name.substring(3));
+        }
+        if (name.startsWith("is") && name.length() > 2) {
+            return decapitalize(name.substring(2));
+        }
+        return name;
+    }
+
+    private static String decapitalize(String name) {
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private static AttributeMetadata columnOf(EntityMetadata<?> metadata, Class<?> type, String field) {
+        try {
+            return Restrictions.columnOf(metadata, field);
+        } catch (RuntimeException e) {
+            throw new ProjectionMappingException(type, "`%s` is not a column of %s"
+                .formatted(field, metadata.getEntityType().getSimpleName()), e);
+        }
+    }
+}
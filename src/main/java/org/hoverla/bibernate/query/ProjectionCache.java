@@ -0,0 +1,22 @@
+package org.hoverla.bibernate.query;
+
+import org.hoverla.bibernate.metadata.EntityMetadata;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Session factory scoped cache of the {@link Projection}s of entities
+ */
+public class ProjectionCache {
+    private final Map<ProjectionKey, Projection<?>> projections = new ConcurrentHashMap<>();
+
+    @SuppressWarnings("unchecked")
+    public <P> Projection<P> getProjection(EntityMetadata<?> metadata, Class<P> type) {
+        return (Projection<P>) projections.computeIfAbsent(new ProjectionKey(metadata.getEntityType(), type),
+            key -> Projection.of(metadata, type));
+    }
+
+    private record ProjectionKey(Class<?> entityType, Class<?> projectionType) {
+    }
+}
@@ -0,0 +1,16 @@
+package org.hoverla.bibernate.query;
+
+import org.hoverla.bibernate.metadata.AttributeMetadata;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Value of a query placeholder bound with the column type of the compared attribute
+ */
+public record QueryParameter(AttributeMetadata attribute, Object value) {
+
+    public void bind(PreparedStatement statement, int index) throws SQLException {
+        attribute.getColumnType().bindValue(statement, index, value);
+    }
+}
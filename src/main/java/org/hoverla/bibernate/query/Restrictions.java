@@ -0,0 +1,94 @@
+package org.hoverla.bibernate.query;
+
+import lombok.experimental.UtilityClass;
+import org.hoverla.bibernate.metadata.AttributeMetadata;
+import org.hoverla.bibernate.metadata.EntityMetadata;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Factory of the conditions of {@link Criteria} queries.
+ * Fields are referenced by their names and may be ids, basic fields or {@code @ManyToOne}/{@code @OneToOne}
+ * fields compared with the id of the related entity.
+ */
+@UtilityClass
+public class Restrictions {
+
+    public static Predicate eq(String field, Object value) {
+        return new Comparison(field, Operator.EQ, value);
+    }
+
+    public static Predicate ne(String field, Object value) {
+        return new Comparison(field, Operator.NE, value);
+    }
+
+    public static Predicate lt(String field, Object value) {
+        return new Comparison(field, Operator.LT, value);
+    }
+
+    public static Predicate le(String field, Object value) {
+        return new Comparison(field, Operator.LE, value);
+    }
+
+    public static Predicate gt(String field, Object value) {
+        return new Comparison(field, Operator.GT, value);
+    }
+
+    public static Predicate ge(String field, Object value) {
+        return new Comparison(field, Operator.GE, value);
+    }
+
+    /**
+     * {@code column LIKE ?} with the SQL pattern, e.g. {@code "J%"}
+     */
+    public static Predicate like(String field, String pattern) {
+        return new Comparison(field, Operator.LIKE, pattern);
+    }
+
+    public static Predicate in(String field, Collection<?> values) {
+        return new InPredicate(field, List.copyOf(values));
+    }
+
+    /**
+     * @throws IllegalArgumentException if no conditions are given
+     */
+    public static Predicate and(Predicate... predicates) {
+        return junction("AND", predicates);
+    }
+
+    /**
+     * @throws IllegalArgumentException if no conditions are given
+     */
+    public static Predicate or(Predicate... predicates) {
+        return junction("OR", predicates);
+    }
+
+    private static Predicate junction(String operator, Predicate... predicates) {
+        if (predicates.length == 0) {
+            throw new IllegalArgumentException("%s of no conditions is not allowed".formatted(operator));
+        }
+        return new Junction(operator, List.of(predicates));
+    }
+
+    /**
+     * Returns the field name as it appears in query shapes, fields are resolved ignoring case
+     * like {@link EntityMetadata#getAttribute(String)} does
+     */
+    static String shapeOf(String field) {
+        return field.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Returns the attribute of the field, that must be mapped to a column of the entity table
+     */
+    static AttributeMetadata columnOf(EntityMetadata<?> metadata, String field) {
+        var attribute = metadata.getAttribute(field);
+        if (attribute.getType().isCollectionAssociation()) {
+            throw new IllegalArgumentException("`%s` of %s is not a column"
+                .formatted(field, metadata.getEntityType().getSimpleName()));
+        }
+        return attribute;
+    }
+}
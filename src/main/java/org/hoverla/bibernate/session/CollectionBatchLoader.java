@@ -0,0 +1,95 @@
+package org.hoverla.bibernate.session;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hoverla.bibernate.collection.LazyList;
+import org.hoverla.bibernate.metadata.AttributeMetadata;
+import org.hoverla.bibernate.metadata.EntityMetadata;
+import org.hoverla.bibernate.metadata.MetadataRegistry;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Session scoped loader of {@link LazyList} collections.
+ * Owners of not initialized collections are registered when they are loaded. Initializing the collection
+ * of one owner loads the collections of the same association of up to batch size pending owners
+ * by one {@code IN (...)} query, the collections of the other owners are kept until they are initialized.
+ */
+@Slf4j
+@RequiredArgsConstructor
+class CollectionBatchLoader {
+    private final MetadataRegistry metadataRegistry;
+    private final int defaultBatchSize;
+    private final CollectionQuery collectionQuery;
+    private final Map<AttributeMetadata, Set<Object>> pendingOwnerIds = new HashMap<>();
+    private final Map<AttributeMetadata, Map<Object, List<Object>>> loadedCollections = new HashMap<>();
+
+    /**
+     * Registers the owner of a not initialized collection
+     *
+     * @param collection one-to-many attribute of the owner
+     * @param ownerId id of the owner
+     */
+    void register(AttributeMetadata collection, Object ownerId) {
+        pendingOwnerIds.computeIfAbsent(collection, attribute -> new LinkedHashSet<>()).add(ownerId);
+    }
+
+    /**
+     * Returns the elements of the collection of the owner, loading the collections of pending owners along
+     *
+     * @param collection one-to-many attribute of the owner
+     * @param ownerId id of the owner
+     * @return collection elements
+     */
+    List<?> load(AttributeMetadata collection, Object ownerId) {
+        var loaded = loadedCollections.get(collection);
+        if (loaded != null && loaded.containsKey(ownerId)) {
+            log.trace("Returning collection {} of owner {} loaded by a batch", collection.getName(), ownerId);
+            return loaded.remove(ownerId);
+        }
+        var batchSize = collection.getBatchSize() > 0 ? collection.getBatchSize() : defaultBatchSize;
+        var ownerIds = new ArrayList<>();
+        ownerIds.add(ownerId);
+        var pending = pendingOwnerIds.get(collection);
+        if (pending != null) {
+            pending.remove(ownerId);
+            for (var iterator = pending.iterator(); iterator.hasNext() && ownerIds.size() < batchSize; ) {
+                ownerIds.add(iterator.next());
+                iterator.remove();
+            }
+        }
+        var relatedMetadata = metadataRegistry.getMetadata(collection.getTargetEntityType());
+        var mappedBy = relatedMetadata.getAttribute(collection.getMappedBy());
+        log.trace("Loading collection {} of {} owners", collection.getName(), ownerIds.size());
+        var collections = new HashMap<Object, List<Object>>();
+        ownerIds.forEach(id -> collections.put(id, new ArrayList<>()));
+        for (var element : collectionQuery.findAllIn(relatedMetadata, mappedBy, ownerIds, batchSize)) {
+            var owner = mappedBy.get(element);
+            if (owner != null) {
+                var elements = collections.get(metadataRegistry.getMetadataOf(owner).getId(owner));
+                if (elements != null) {
+                    elements.add(element);
+                }
+            }
+        }
+        var result = collections.remove(ownerId);
+        if (!collections.isEmpty()) {
+            loadedCollections.computeIfAbsent(collection, attribute -> new HashMap<>()).putAll(collections);
+        }
+        return result;
+    }
+
+    /**
+     * Selects the elements whose foreign key column of the mapped by attribute refers to one of the owners
+     */
+    @FunctionalInterface
+    interface CollectionQuery {
+        List<?> findAllIn(EntityMetadata<?> metadata, AttributeMetadata mappedBy, List<Object> ownerIds,
+                          int batchSize);
+    }
+}
@@ -3,44 +3,51 @@ package org.hoverla.bibernate.session;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
-import org.hoverla.bibernate.action.EntityAction;
+import org.hoverla.bibernate.action.ActionQueue;
 import org.hoverla.bibernate.action.EntityDeleteAction;
 import org.hoverla.bibernate.action.EntityInsertAction;
 import org.hoverla.bibernate.action.EntityUpdateAction;
 import org.hoverla.bibernate.exception.session.DuplicateEntityException;
 import org.hoverla.bibernate.exception.session.SessionOperationException;
+import org.hoverla.bibernate.metadata.AttributeMetadata;
+import org.hoverla.bibernate.metadata.EntityMetadata;
+import org.hoverla.bibernate.query.Criteria;
+import org.hoverla.bibernate.session.factory.SessionFactoryContext;
 import org.hoverla.bibernate.session.transaction.DelegatingDataSource;
 import org.hoverla.bibernate.session.transaction.manager.TransactionManager;
 import org.hoverla.bibernate.session.transaction.manager.TransactionManagerImpl;
 import org.hoverla.bibernate.util.EntityKey;
-import org.hoverla.bibernate.util.EntityUtils;
 
 import javax.sql.DataSource;
-import java.lang.reflect.Field;
 import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
-import java.util.PriorityQueue;
-import java.util.Queue;
-
-import static java.util.Comparator.comparing;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
 
 @Slf4j
 @RequiredArgsConstructor
 public class DefaultSession implements Session {
     private final EntityPersister persister;
     private final PersistenceContext persistenceContext;
-    private final Queue<EntityAction> actionQueue;
+    private final ActionQueue actionQueue;
     private boolean closed;
     @Setter
     private boolean readonly;
     private TransactionManager transactionManager;
 
     public DefaultSession(DataSource dataSource) {
-        this.actionQueue = new PriorityQueue<>(comparing(EntityAction::priority));
-        this.persistenceContext = new PersistenceContext();
+        this(dataSource, SessionFactoryContext.defaults());
+    }
+
+    public DefaultSession(DataSource dataSource, SessionFactoryContext context) {
+        this.actionQueue = new ActionQueue(context.getMetadataRegistry()::getDependencyLevel);
+        this.persistenceContext = new PersistenceContext(context.getMetadataRegistry());
 
         this.transactionManager = new TransactionManagerImpl(dataSource, this);
-        this.persister = new EntityPersister(dataSource, persistenceContext);
+        this.persister = new EntityPersister(dataSource, persistenceContext, context);
     }
 
     @Override
@@ -49,6 +56,7 @@ public class DefaultSession implements Session {
         if (persistenceContext.contains(entity)) {
             throw new DuplicateEntityException(entity);
         }
+        persister.generateId(entity);
         persistenceContext.addEntity(entity);
         var insertAction = new EntityInsertAction(entity, persister);
         actionQueue.add(insertAction);
@@ -58,8 +66,9 @@ public class DefaultSession implements Session {
     public <T> T merge(T entity) {
         throwIfClosed();
         log.info("Merging entity {} to persistence context", entity);
+        var id = metadataOf(entity).getId(entity);
         if (persistenceContext.contains(entity)
-            || this.find(entity.getClass(), EntityUtils.getId(entity)) != null) {
+            || id != null && this.find(entity.getClass(), id) != null) {
             var updateAction = new EntityUpdateAction(entity, persister);
             actionQueue.add(updateAction);
         } else {
@@ -68,6 +77,28 @@ public class DefaultSession implements Session {
         return entity;
     }
 
+    @Override
+    public <T> long bulkInsert(Class<T> entityType, Iterable<T> entities) {
+        throwIfClosed();
+        log.info("Bulk inserting entities {}", entityType.getSimpleName());
+        return bulkInsert(entityType, entities.iterator());
+    }
+
+    @Override
+    public <T> long bulkInsert(Class<T> entityType, Stream<T> entities) {
+        throwIfClosed();
+        log.info("Bulk inserting stream of entities {}", entityType.getSimpleName());
+        try (entities) {
+            return bulkInsert(entityType, entities.iterator());
+        }
+    }
+
+    private <T> long bulkInsert(Class<T> entityType, Iterator<T> entities) {
+        var inserted = new AtomicLong();
+        persister.executeOnSingleConnection(() -> inserted.set(persister.bulkInsert(entityType, entities)));
+        return inserted.get();
+    }
+
     @Override
     public <T> T find(Class<T> entityType, Object id) {
         throwIfClosed();
@@ -80,26 +111,171 @@ public class DefaultSession implements Session {
         }
     }
 
+    @Override
+    public <T> List<T> findAllById(Class<T> entityType, Collection<?> ids) {
+        throwIfClosed();
+        log.info("Finding {} entities {} by ids", ids.size(), entityType.getSimpleName());
+        try {
+            var metadata = persistenceContext.getMetadataRegistry().getMetadata(entityType);
+            return persister.findAllById(metadata, ids);
+        } catch (Exception e) {
+            throw new SessionOperationException("Could not find entities by type: %s and ids: %s"
+                .formatted(entityType.getSimpleName(), ids), e);
+        }
+    }
+
     @Override
     public <T> List<T> findAllBy(Class<T> entityType, String fieldName, Object value) {
         throwIfClosed();
         log.info("Finding entities {} by {} = {}", entityType.getSimpleName(), fieldName, value);
         try {
-            Field field = EntityUtils.resolveFieldByName(entityType, fieldName);
-            return persister.findAllBy(entityType, field, value);
+            var metadata = persistenceContext.getMetadataRegistry().getMetadata(entityType);
+            return persister.findAllBy(metadata, metadata.getAttribute(fieldName), value);
         } catch (Exception e) {
                 throw new SessionOperationException("Could not find entities by type: %s and %s: %s"
                     .formatted(entityType.getSimpleName(), fieldName, value), e);
             }
     }
 
+    @Override
+    public <T> T find(Class<T> entityType, Object id, String... fetchJoins) {
+        throwIfClosed();
+        log.info("Finding entity {} by id = {} fetching {}", entityType.getSimpleName(), id, fetchJoins);
+        try {
+            var metadata = persistenceContext.getMetadataRegistry().getMetadata(entityType);
+            return persister.findById(metadata, id, resolveFetchJoins(metadata, fetchJoins));
+        } catch (Exception e) {
+            throw new SessionOperationException("Could not find entity by type: %s and id: %s"
+                .formatted(entityType.getSimpleName(), id), e);
+        }
+    }
+
+    @Override
+    public <T> List<T> findAllBy(Class<T> entityType, String fieldName, Object value, String... fetchJoins) {
+        throwIfClosed();
+        log.info("Finding entities {} by {} = {} fetching {}",
+            entityType.getSimpleName(), fieldName, value, fetchJoins);
+        try {
+            var metadata = persistenceContext.getMetadataRegistry().getMetadata(entityType);
+            return persister.findAllBy(metadata, metadata.getAttribute(fieldName), value,
+                resolveFetchJoins(metadata, fetchJoins));
+        } catch (Exception e) {
+            throw new SessionOperationException("Could not find entities by type: %s and %s: %s"
+                .formatted(entityType.getSimpleName(), fieldName, value), e);
+        }
+    }
+
+    private List<AttributeMetadata> resolveFetchJoins(EntityMetadata<?> metadata, String... fetchJoins) {
+        var attributes = new ArrayList<AttributeMetadata>();
+        for (var fetchJoin : fetchJoins) {
+            var attribute = metadata.getAttribute(fetchJoin);
+            if (!attribute.getType().isSingleAssociation() && !attribute.getType().isCollectionAssociation()) {
+                throw new IllegalArgumentException("`%s` is not an association of %s"
+                    .formatted(fetchJoin, metadata.getEntityType().getSimpleName()));
+            }
+            if (!attributes.contains(attribute)) {
+                attributes.add(attribute);
+            }
+        }
+        return attributes;
+    }
+
+    @Override
+    public <T> Page<T> findAll(Class<T> entityType, PageRequest pageRequest) {
+        throwIfClosed();
+        log.info("Finding page of entities {}", entityType.getSimpleName());
+        try {
+            var metadata = persistenceContext.getMetadataRegistry().getMetadata(entityType);
+            return persister.findPage(metadata, null, null, pageRequest);
+        } catch (Exception e) {
+            throw new SessionOperationException("Could not find page of entities by type: %s"
+                .formatted(entityType.getSimpleName()), e);
+        }
+    }
+
+    @Override
+    public <T> Page<T> findAllBy(Class<T> entityType, String fieldName, Object value, PageRequest pageRequest) {
+        throwIfClosed();
+        log.info("Finding page of entities {} by {} = {}", entityType.getSimpleName(), fieldName, value);
+        try {
+            var metadata = persistenceContext.getMetadataRegistry().getMetadata(entityType);
+            return persister.findPage(metadata, metadata.getAttribute(fieldName), value, pageRequest);
+        } catch (Exception e) {
+            throw new SessionOperationException("Could not find page of entities by type: %s and %s: %s"
+                .formatted(entityType.getSimpleName(), fieldName, value), e);
+        }
+    }
+
+    @Override
+    public <T> List<T> findAll(Criteria<T> criteria) {
+        throwIfClosed();
+        var entityType = criteria.getEntityType();
+        log.info("Finding entities {} by criteria {}", entityType.getSimpleName(), criteria.getShape());
+        try {
+            var metadata = persistenceContext.getMetadataRegistry().getMetadata(entityType);
+            return persister.findAll(metadata, criteria);
+        } catch (Exception e) {
+            throw new SessionOperationException("Could not find entities by type: %s and criteria: %s"
+                .formatted(entityType.getSimpleName(), criteria.getShape()), e);
+        }
+    }
+
+    @Override
+    public <T, P> List<P> findAll(Criteria<T> criteria, Class<P> projectionType) {
+        throwIfClosed();
+        var entityType = criteria.getEntityType();
+        log.info("Finding projections {} of {} by criteria {}", projectionType.getSimpleName(),
+            entityType.getSimpleName(), criteria.getShape());
+        try {
+            var metadata = persistenceContext.getMetadataRegistry().getMetadata(entityType);
+            return persister.findAll(metadata, criteria, projectionType);
+        } catch (Exception e) {
+            throw new SessionOperationException("Could not find projections %s of type: %s and criteria: %s"
+                .formatted(projectionType.getSimpleName(), entityType.getSimpleName(), criteria.getShape()), e);
+        }
+    }
+
+    @Override
+    public <T> NativeQuery<T> createNativeQuery(String sql, Class<T> entityType) {
+        throwIfClosed();
+        log.info("Creating native query of entities {}: {}", entityType.getSimpleName(), sql);
+        var metadata = persistenceContext.getMetadataRegistry().getMetadata(entityType);
+        return new NativeQuery<>(persister, metadata, sql, this::throwIfClosed);
+    }
+
+    @Override
+    public <T> Stream<T> stream(Class<T> entityType, StreamOptions options) {
+        throwIfClosed();
+        log.info("Streaming entities {}", entityType.getSimpleName());
+        try {
+            var metadata = persistenceContext.getMetadataRegistry().getMetadata(entityType);
+            return persister.stream(metadata, null, null, options);
+        } catch (Exception e) {
+            throw new SessionOperationException("Could not stream entities by type: %s"
+                .formatted(entityType.getSimpleName()), e);
+        }
+    }
+
+    @Override
+    public <T> Stream<T> stream(Class<T> entityType, String fieldName, Object value, StreamOptions options) {
+        throwIfClosed();
+        log.info("Streaming entities {} by {} = {}", entityType.getSimpleName(), fieldName, value);
+        try {
+            var metadata = persistenceContext.getMetadataRegistry().getMetadata(entityType);
+            return persister.stream(metadata, metadata.getAttribute(fieldName), value, options);
+        } catch (Exception e) {
+            throw new SessionOperationException("Could not stream entities by type: %s and %s: %s"
+                .formatted(entityType.getSimpleName(), fieldName, value), e);
+        }
+    }
+
     @Override
     public <T> T findOneBy(Class<T> entityType, String fieldName, Object value) {
         throwIfClosed();
         log.info("Finding entity {} by {} = {}", entityType.getSimpleName(), fieldName, value);
         try {
-            Field field = EntityUtils.resolveFieldByName(entityType, fieldName);
-            return persister.findOneBy(entityType, field, value);
+            var metadata = persistenceContext.getMetadataRegistry().getMetadata(entityType);
+            return persister.findOneBy(metadata, metadata.getAttribute(fieldName), value);
         } catch (Exception e) {
             throw new SessionOperationException("Could not find entity by type: %s and %s: %s"
                 .formatted(entityType.getSimpleName(), fieldName, value), e);
@@ -111,7 +287,7 @@ public class DefaultSession implements Session {
         throwIfClosed();
         log.info("Removing entity {}", entity);
 
-        EntityKey<T> entityKey = EntityKey.valueOf(entity);
+        EntityKey<T> entityKey = metadataOf(entity).createKey(entity);
         var managedEntity = persistenceContext.getEntity(entityKey);
         if (managedEntity == null) {
             throw new IllegalArgumentException("Cannot remove entity %s. It's not present in a current session"
@@ -130,9 +306,9 @@ public class DefaultSession implements Session {
             throwIfClosed();
             List<Object> dirtyEntities = persistenceContext.getDirtyEntities();
             dirtyEntities.forEach(dirtyEntity -> actionQueue.add(new EntityUpdateAction(dirtyEntity, persister)));
-            while (!actionQueue.isEmpty()) {
-                var entityAction = actionQueue.poll();
-                entityAction.execute();
+            actionQueue.coalesce(entity -> metadataOf(entity).createKey(entity));
+            if (!actionQueue.isEmpty()) {
+                persister.executeOnSingleConnection(actionQueue::executeAll);
             }
         }
         persister.setDataSource(transactionManager.getRawDataSource());
@@ -149,6 +325,10 @@ public class DefaultSession implements Session {
     }
 
 
+    private <T> EntityMetadata<T> metadataOf(T entity) {
+        return persistenceContext.getMetadataRegistry().getMetadataOf(entity);
+    }
+
     private void throwIfClosed() {
         if (isClosed()) {
             throw new IllegalStateException("Session is closed. Please open a new one!");
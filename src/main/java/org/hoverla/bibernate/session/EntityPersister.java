@@ -1,28 +1,52 @@
 package org.hoverla.bibernate.session;
 
-import lombok.AllArgsConstructor;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.hoverla.bibernate.collection.LazyList;
+import org.hoverla.bibernate.dialect.Dialect;
 import org.hoverla.bibernate.exception.datasource.JDBCConnectionException;
+import org.hoverla.bibernate.exception.session.SessionOperationException;
 import org.hoverla.bibernate.exception.session.jdbc.PrepareStatementFailureException;
+import org.hoverla.bibernate.hydration.HydrationPlan;
+import org.hoverla.bibernate.hydration.HydrationPlanCache;
+import org.hoverla.bibernate.id.IdGenerators;
+import org.hoverla.bibernate.metadata.AttributeMetadata;
+import org.hoverla.bibernate.metadata.EntityMetadata;
+import org.hoverla.bibernate.metadata.MetadataRegistry;
+import org.hoverla.bibernate.proxy.ProxyFactory;
+import org.hoverla.bibernate.query.Criteria;
+import org.hoverla.bibernate.query.ProjectionCache;
+import org.hoverla.bibernate.session.factory.SessionFactoryContext;
+import org.hoverla.bibernate.sql.SqlStatementCache;
 import org.hoverla.bibernate.util.EntityKey;
-import org.hoverla.bibernate.util.EntityUtils;
 
 import javax.sql.DataSource;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.ParameterizedType;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-import static org.hoverla.bibernate.util.EntityUtils.*;
-import static org.hoverla.bibernate.util.SqlUtils.*;
+import static org.hoverla.bibernate.util.SqlUtils.getColumnPrefix;
 
 
 /**
@@ -30,26 +54,164 @@ import static org.hoverla.bibernate.util.SqlUtils.*;
  * Typically invoked during the flush/commit/close operations
  */
 @Slf4j
-@AllArgsConstructor
 public class EntityPersister {
     @Setter
     private DataSource dataSource;
     private final PersistenceContext persistenceContext;
+    private final MetadataRegistry metadataRegistry;
+    private final SqlStatementCache sqlStatementCache;
+    private final HydrationPlanCache hydrationPlanCache;
+    private final int jdbcBatchSize;
+    private final int multiRowInsertSize;
+    private final int maxStatementParameters;
+    private final int inClauseSize;
+    private final int batchFetchSize;
+    private final int fetchSize;
+    private final Dialect dialect;
+    private final IdGenerators idGenerators;
+    private final PgCopyInserter copyInserter;
+    private final ProxyFactory proxyFactory;
+    private final ProjectionCache projectionCache;
+    private final CollectionBatchLoader collectionLoader;
+    /**
+     * Connection shared by all the statements of the ongoing flush or of the fetch of a streamed chunk,
+     * {@code null} otherwise
+     */
+    private Connection flushConnection;
 
-    private static final String TABLE_LOG = "Resolved table name -> {}";
     private static final String CONNECTION_ERROR = "Unable to acquire JDBC Connection";
 
+    public EntityPersister(DataSource dataSource, PersistenceContext persistenceContext) {
+        this(dataSource, persistenceContext, SessionFactoryContext.builder()
+            .metadataRegistry(persistenceContext.getMetadataRegistry())
+            .build());
+    }
+
+    public EntityPersister(DataSource dataSource, PersistenceContext persistenceContext,
+                           SessionFactoryContext context) {
+        this.dataSource = dataSource;
+        this.persistenceContext = persistenceContext;
+        this.metadataRegistry = context.getMetadataRegistry();
+        this.sqlStatementCache = context.getSqlStatementCache();
+        this.hydrationPlanCache = context.getHydrationPlanCache();
+        this.jdbcBatchSize = context.getJdbcBatchSize();
+        this.multiRowInsertSize = context.getMultiRowInsertSize();
+        this.maxStatementParameters = context.getMaxStatementParameters();
+        this.inClauseSize = Math.max(1, Math.min(context.getInClauseSize(), context.getMaxStatementParameters()));
+        this.batchFetchSize = context.getBatchFetchSize();
+        this.fetchSize = context.getFetchSize();
+        this.dialect = context.getDialect();
+        this.idGenerators = context.getIdGenerators();
+        this.copyInserter = new PgCopyInserter(metadataRegistry);
+        this.proxyFactory = context.getProxyFactory();
+        this.projectionCache = context.getProjectionCache();
+        this.collectionLoader = new CollectionBatchLoader(metadataRegistry, batchFetchSize, this::findCollections);
+    }
+
+    /**
+     * Runs the work on a single connection that is acquired once and released at the end.
+     * If the connection is in auto-commit mode, i.e. no transaction is active,
+     * the work runs in a local transaction that is rolled back on failure.
+     */
+    public void executeOnSingleConnection(Runnable work) {
+        try (var conn = dataSource.getConnection()) {
+            var localTransaction = conn.getAutoCommit();
+            if (localTransaction) {
+                conn.setAutoCommit(false);
+            }
+            flushConnection = conn;
+            try {
+                work.run();
+                if (localTransaction) {
+                    conn.commit();
+                }
+            } catch (RuntimeException e) {
+                if (localTransaction) {
+                    conn.rollback();
+                }
+                throw e;
+            } finally {
+                flushConnection = null;
+                if (localTransaction) {
+                    conn.setAutoCommit(true);
+                }
+            }
+        } catch (SQLException e) {
+            log.error(CONNECTION_ERROR, e);
+            throw new JDBCConnectionException(e);
+        }
+    }
+
+    /**
+     * Assigns the next id of the sequence to a new entity whose id is generated by a sequence.
+     * Entities with other id strategies or with an id already set are left as is.
+     */
+    public void generateId(Object entity) {
+        var metadata = metadataRegistry.getMetadataOf(entity);
+        if (!metadata.isSequenceGenerated() || metadata.getId(entity) != null) {
+            return;
+        }
+        var generator = idGenerators.getSequenceGenerator(metadata.getEntityType(), metadata.getIdGeneration());
+        var id = generator.next(() -> nextSequenceValue(generator.getSequenceName()));
+        var idAttribute = metadata.getIdAttribute();
+        var idType = idAttribute.getJavaType();
+        idAttribute.set(entity, idType == Integer.class || idType == int.class ? (Object) (int) id : (Object) id);
+        log.trace("Generated id {} for entity {}", id, entity);
+    }
+
+    /**
+     * Inserts the entities right away, bypassing the persistence context and the action queue.
+     * On PostgreSQL rows are streamed with {@code COPY ... FROM STDIN}, ids generated by identity columns
+     * are not read back in that case. Other databases get batched (or multi-row) inserts of chunks of entities.
+     * Sequence generated ids are assigned before the rows are written.
+     *
+     * @return number of inserted rows
+     */
+    public <T> long bulkInsert(Class<T> entityType, Iterator<T> entities) {
+        var metadata = metadataRegistry.getMetadata(entityType);
+        try (var lease = leaseConnection()) {
+            var conn = lease.connection();
+            if (dialect.supportsCopy() && copyInserter.supports(conn)) {
+                var copySql = sqlStatementCache.getCopyFromStdinSql(metadata);
+                try {
+                    return copyInserter.copyIn(conn, copySql, metadata, entities, this::generateId);
+                } catch (SQLException e) {
+                    log.error("Could not copy rows with SQL: {}", copySql, e);
+                    throw new PrepareStatementFailureException(copySql, e);
+                }
+            }
+        } catch (SQLException e) {
+            log.error(CONNECTION_ERROR, e);
+            throw new JDBCConnectionException(e);
+        }
+        return insertInChunks(entities);
+    }
+
+    private <T> long insertInChunks(Iterator<T> entities) {
+        var chunkSize = Math.max(1, jdbcBatchSize) * Math.max(1, multiRowInsertSize);
+        long inserted = 0;
+        var chunk = new ArrayList<T>(chunkSize);
+        while (entities.hasNext()) {
+            var entity = entities.next();
+            generateId(entity);
+            chunk.add(entity);
+            if (chunk.size() == chunkSize || !entities.hasNext()) {
+                insertAll(chunk);
+                inserted += chunk.size();
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+        return inserted;
+    }
+
     public <T> T insert(T entity) {
         log.trace("Inserting entity {}", entity);
-        var type = entity.getClass();
-        try (var conn = dataSource.getConnection()) {
-            var table = resolveTableName(type);
-            log.trace(TABLE_LOG, table);
-            var columns = getCommaSeparatedInsertableColumns(type);
-            var params = getCommaSeparatedInsertableParams(type);
-            var insertQuery = INSERT_TEMPLATE.formatted(table, columns, params);
+        var metadata = metadataRegistry.getMetadataOf(entity);
+        try (var lease = leaseConnection()) {
+            var conn = lease.connection();
+            var insertQuery = sqlStatementCache.getInsertSql(metadata);
             log.trace("Insert query: {}", insertQuery);
-            executeInsert(entity, conn, insertQuery);
+            executeInsert(entity, metadata, conn, insertQuery);
         } catch (SQLException e) {
             log.error(CONNECTION_ERROR, e);
             throw new JDBCConnectionException(e);
@@ -59,16 +221,12 @@ public class EntityPersister {
 
     public <T> void update(T entity) {
         log.trace("Updating entity {}", entity);
-        var type = entity.getClass();
-        try (var conn = dataSource.getConnection()) {
-            var table = resolveTableName(type);
-            log.trace(TABLE_LOG, table);
-            var columns = getCommaSeparatedUpdatableColumns(type);
-            var idField = getIdField(type);
-            var idColumnName = resolveColumnName(idField) + " = ? ";
-            log.trace("Resolved id column name -> {}", idColumnName);
-            String updateQuery = UPDATE_TEMPLATE.formatted(table, columns, idColumnName);
-            executeUpdate(entity, conn, updateQuery);
+        var metadata = metadataRegistry.getMetadataOf(entity);
+        try (var lease = leaseConnection()) {
+            var conn = lease.connection();
+            var updateQuery = sqlStatementCache.getUpdateByIdSql(metadata);
+            log.trace("Update query: {}", updateQuery);
+            executeUpdate(entity, metadata, conn, updateQuery);
         } catch (SQLException e) {
             log.error(CONNECTION_ERROR, e);
             throw new JDBCConnectionException(e);
@@ -77,17 +235,13 @@ public class EntityPersister {
 
     public <T> void delete(T entity) {
         log.trace("Removing entity {}", entity);
-        var type = entity.getClass();
-        try (var conn = dataSource.getConnection()) {
-            var table = resolveTableName(type);
-            log.trace(TABLE_LOG, table);
-            var idField = getIdField(type);
-            var idColumnName = resolveColumnName(idField);
-            log.trace("Resolved id column name -> {}", idColumnName);
-            var id = getId(entity);
-            String deleteQuery = DELETE_BY_COLUMN_TEMPLATE.formatted(table, idColumnName);
+        var metadata = metadataRegistry.getMetadataOf(entity);
+        try (var lease = leaseConnection()) {
+            var conn = lease.connection();
+            var deleteQuery = sqlStatementCache.getDeleteByIdSql(metadata);
+            log.trace("Delete query: {}", deleteQuery);
             try (var deleteStatement = conn.prepareStatement(deleteQuery)) {
-                deleteStatement.setObject(1, id);
+                bindDelete(deleteStatement, entity, metadata);
                 log.debug("SQL: {}", deleteStatement);
                 deleteStatement.executeUpdate();
             }
@@ -97,6 +251,55 @@ public class EntityPersister {
         }
     }
 
+    /**
+     * Inserts entities of the same type sending the statements in JDBC batches of the configured size.
+     * When multi-row inserts are enabled, several entities are inserted by each statement.
+     */
+    public void insertAll(List<?> entities) {
+        log.trace("Inserting {} entities", entities.size());
+        var metadata = metadataRegistry.getMetadataOf(entities.get(0));
+        var rowsPerStatement = resolveRowsPerInsert(metadata);
+        if (rowsPerStatement > 1 && entities.size() > 1) {
+            insertMultiRow(metadata, entities, rowsPerStatement);
+        } else {
+            executeBatch(sqlStatementCache.getInsertSql(metadata), entities,
+                (statement, entity) -> bindInsert(statement, entity, metadata), generatedKeysOf(metadata));
+        }
+    }
+
+    /**
+     * Updates entities of the same type sending the statements in JDBC batches of the configured size
+     */
+    public void updateAll(List<?> entities) {
+        log.trace("Updating {} entities", entities.size());
+        var metadata = metadataRegistry.getMetadataOf(entities.get(0));
+        executeBatch(sqlStatementCache.getUpdateByIdSql(metadata), entities,
+            (statement, entity) -> bindUpdate(statement, entity, metadata), null);
+    }
+
+    /**
+     * Deletes entities of the same type with set-based statements.
+     * If the dialect supports arrays of the id type, all the rows are deleted by one {@code id = ANY(?)} statement,
+     * otherwise ids are sent in {@code id IN (...)} chunks of the configured size.
+     */
+    public void deleteAll(List<?> entities) {
+        log.trace("Removing {} entities", entities.size());
+        var metadata = metadataRegistry.getMetadataOf(entities.get(0));
+        var idAttribute = metadata.getIdAttribute();
+        var ids = entities.stream().map(idAttribute::get).toList();
+        var arrayTypeName = arrayTypeNameOf(idAttribute);
+        try (var lease = leaseConnection()) {
+            if (arrayTypeName != null) {
+                deleteByIdArray(lease.connection(), metadata, ids, arrayTypeName);
+            } else {
+                deleteByIdChunks(lease.connection(), metadata, ids);
+            }
+        } catch (SQLException e) {
+            log.error(CONNECTION_ERROR, e);
+            throw new JDBCConnectionException(e);
+        }
+    }
+
     public <T> T findById(Class<T> entityType, Object id) throws SQLException,
             InvocationTargetException, NoSuchMethodException, InstantiationException, IllegalAccessException {
         log.trace("Selecting entity {} by id = {}", entityType.getSimpleName(), id);
@@ -107,144 +310,999 @@ public class EntityPersister {
             return entityType.cast(cachedEntity);
         }
         log.trace("No cached entity found... Loading entity from the DB");
-        var idField = getIdField(entityType);
-        return findOneBy(entityType, idField, id);
+        var metadata = metadataRegistry.getMetadata(entityType);
+        return findOneBy(metadata, metadata.getIdAttribute(), id);
+    }
+
+    /**
+     * Finds the entities with the given ids. Entities of the persistence context are reused,
+     * only the missing ones are loaded by {@code IN (...)} chunks of the configured size.
+     *
+     * @param metadata metadata of the entity
+     * @param ids ids to find, may contain duplicates, numbers are converted to the type of the id
+     * @return entities aligned with the ids, {@code null} for the ids that are not found
+     */
+    public <T> List<T> findAllById(EntityMetadata<T> metadata, Collection<?> ids) throws SQLException,
+            InvocationTargetException, NoSuchMethodException, InstantiationException, IllegalAccessException {
+        var entityType = metadata.getEntityType();
+        var entitiesById = new HashMap<Object, T>();
+        var missingIds = new ArrayList<Object>();
+        var convertedIds = new ArrayList<Object>(ids.size());
+        for (var inputId : ids) {
+            var id = metadata.toIdType(inputId);
+            convertedIds.add(id);
+            if (id != null && !entitiesById.containsKey(id)) {
+                var cachedEntity = persistenceContext.getEntity(new EntityKey<>(id, entityType));
+                entitiesById.put(id, cachedEntity);
+                if (cachedEntity == null) {
+                    missingIds.add(id);
+                }
+            }
+        }
+        log.trace("Found {} of {} entities {} in the context", entitiesById.size() - missingIds.size(),
+            entitiesById.size(), entityType.getSimpleName());
+        if (!missingIds.isEmpty()) {
+            for (var entity : findAllByIds(metadata, missingIds, inClauseSize)) {
+                entitiesById.put(metadata.getId(entity), entity);
+            }
+        }
+        var entities = new ArrayList<T>(convertedIds.size());
+        for (var id : convertedIds) {
+            entities.add(id != null ? entitiesById.get(id) : null);
+        }
+        return entities;
     }
 
     public <T> List<T> findAllBy(Class<T> entityType, Field field, Object columnValue) throws SQLException,
             InvocationTargetException, NoSuchMethodException, InstantiationException, IllegalAccessException {
+        var metadata = metadataRegistry.getMetadata(entityType);
+        return findAllBy(metadata, metadata.getAttribute(field.getName()), columnValue);
+    }
+
+    public <T> List<T> findAllBy(EntityMetadata<T> metadata, AttributeMetadata attribute, Object columnValue)
+            throws SQLException, InvocationTargetException, NoSuchMethodException, InstantiationException,
+            IllegalAccessException {
         log.trace("Selecting from table by column value");
-        var list = new ArrayList<T>();
-        try (var connection = dataSource.getConnection()) {
-            var tableName = resolveTableName(entityType);
-            log.trace(TABLE_LOG, tableName);
-            var columnName = resolveColumnName(field);
-            log.trace("Resolved column name -> {}", columnName);
-            var selectSql = String.format(SELECT_BY_COLUMN_TEMPLATE, tableName, columnName);
+        var selectSql = sqlStatementCache.getSelectByColumnSql(metadata, attribute);
+        return select(metadata, selectSql,
+            (connection, statement) -> attribute.getColumnType().bindValue(statement, 1, columnValue));
+    }
+
+    /**
+     * Selects a page of the entities whose column has the value, or of all the entities if the attribute is
+     * {@code null}, ordered by id. One row more than the limit is selected to tell whether a next page exists.
+     *
+     * @param metadata metadata of the selected entity
+     * @param attribute attribute of the where condition, {@code null} to page through all the rows
+     * @param columnValue value of the where condition
+     * @param pageRequest offset or keyset page to select
+     * @return managed entities of the page and the request of the next page
+     */
+    public <T> Page<T> findPage(EntityMetadata<T> metadata, AttributeMetadata attribute, Object columnValue,
+                                PageRequest pageRequest) throws SQLException, InvocationTargetException,
+            NoSuchMethodException, InstantiationException, IllegalAccessException {
+        var idAttribute = metadata.getIdAttribute();
+        var afterId = pageRequest.isKeyset() && pageRequest.getAfterId() != null;
+        var withOffset = pageRequest.getOffset() > 0;
+        var limitClause = withOffset ? dialect.getLimitOffsetClause() : dialect.getLimitClause();
+        var selectSql = sqlStatementCache.getSelectPageSql(metadata, attribute, afterId, limitClause);
+        var entities = select(metadata, selectSql, (connection, statement) -> {
+            var paramIndex = 1;
+            if (attribute != null) {
+                attribute.getColumnType().bindValue(statement, paramIndex++, columnValue);
+            }
+            if (afterId) {
+                idAttribute.getColumnType().bindValue(statement, paramIndex++, pageRequest.getAfterId());
+            }
+            if (withOffset) {
+                statement.setInt(paramIndex++, pageRequest.getOffset());
+            }
+            statement.setInt(paramIndex, pageRequest.getLimit() + 1);
+        });
+        if (entities.size() <= pageRequest.getLimit()) {
+            return new Page<>(entities, null);
+        }
+        var content = entities.subList(0, pageRequest.getLimit());
+        var lastId = metadata.getId(content.get(content.size() - 1));
+        return new Page<>(List.copyOf(content), pageRequest.next(lastId));
+    }
+
+    /**
+     * Selects the entities matching the criteria query. The SQL is cached per shape of the query,
+     * so only the parameters are collected for repeated queries.
+     *
+     * @return managed entities in the order of the rows
+     */
+    public <T> List<T> findAll(EntityMetadata<T> metadata, Criteria<T> criteria) throws SQLException,
+            InvocationTargetException, NoSuchMethodException, InstantiationException, IllegalAccessException {
+        var selectSql = sqlStatementCache.getCriteriaSql(metadata, criteria, dialect);
+        var parameters = criteria.getParameters(metadata);
+        return select(metadata, selectSql, (connection, statement) -> {
+            for (int i = 0; i < parameters.size(); i++) {
+                parameters.get(i).bind(statement, i + 1);
+            }
+            if (criteria.getLimit() != null) {
+                statement.setInt(parameters.size() + 1, criteria.getLimit());
+            }
+        });
+    }
+
+    /**
+     * Selects only the columns of the projection for the rows matching the criteria query.
+     * Rows are mapped straight into the projection type, they are not put into the persistence context
+     * and their associations are not loaded, {@code @ManyToOne}/{@code @OneToOne} fields map to the foreign key.
+     *
+     * @param metadata metadata of the queried entity
+     * @param criteria conditions, order and limit of the query
+     * @param projectionType record or interface whose components are named after the entity fields
+     * @return projections in the order of the rows
+     */
+    public <T, P> List<P> findAll(EntityMetadata<T> metadata, Criteria<T> criteria, Class<P> projectionType)
+            throws SQLException {
+        var projection = projectionCache.getProjection(metadata, projectionType);
+        var selectSql = sqlStatementCache.getProjectionSql(metadata, criteria, projection, dialect);
+        var parameters = criteria.getParameters(metadata);
+        var projections = new ArrayList<P>();
+        try (var lease = leaseConnection()) {
+            log.trace("Preparing projection statement: {}", selectSql);
+            try (var selectStatement = lease.connection().prepareStatement(selectSql)) {
+                for (int i = 0; i < parameters.size(); i++) {
+                    parameters.get(i).bind(selectStatement, i + 1);
+                }
+                if (criteria.getLimit() != null) {
+                    selectStatement.setInt(parameters.size() + 1, criteria.getLimit());
+                }
+                log.debug("SQL: {}", selectStatement);
+                var resultSet = selectStatement.executeQuery();
+                while (resultSet.next()) {
+                    projections.add(projection.read(resultSet));
+                }
+            }
+        }
+        return projections;
+    }
+
+    /**
+     * Runs a native SQL query and hydrates its rows into entities. The query must select all the mapped columns
+     * of the entity table, the column positions are resolved once per SQL string of the recently used queries,
+     * so parameters should be bound rather than inlined.
+     *
+     * @param metadata metadata of the hydrated entity
+     * @param sql native SQL query with positional {@code ?} parameters
+     * @param parameters values of the parameters in order
+     * @param readOnly whether the entities are left out of the persistence context
+     * @return entities in the order of the rows, managed unless they are read-only
+     */
+    public <T> List<T> findAllByNativeQuery(EntityMetadata<T> metadata, String sql, List<?> parameters,
+                                            boolean readOnly) throws SQLException, InvocationTargetException,
+            NoSuchMethodException, InstantiationException, IllegalAccessException {
+        return select(metadata, sql, (connection, statement) -> {
+            for (int i = 0; i < parameters.size(); i++) {
+                statement.setObject(i + 1, parameters.get(i));
+            }
+        }, !readOnly, true);
+    }
+
+    /**
+     * Finds the entity by id fetching the given associations with {@code LEFT JOIN}s of the same statement,
+     * see {@link #findAllBy(EntityMetadata, AttributeMetadata, Object, List)}
+     */
+    public <T> T findById(EntityMetadata<T> metadata, Object id, List<AttributeMetadata> fetchJoins)
+            throws SQLException, InvocationTargetException, NoSuchMethodException, InstantiationException,
+            IllegalAccessException {
+        var cachedEntity = persistenceContext.getEntity(new EntityKey<>(id, metadata.getEntityType()));
+        if (cachedEntity != null) {
+            log.trace("Returning cached entity from the context {}", cachedEntity);
+            return cachedEntity;
+        }
+        var result = findAllBy(metadata, metadata.getIdAttribute(), id, fetchJoins);
+        if (result.size() != 1) {
+            throw new IllegalStateException("The result must contain exactly one row");
+        }
+        return result.get(0);
+    }
+
+    /**
+     * Selects the entities by column value fetching the given {@code @ManyToOne}, {@code @OneToOne}
+     * and {@code @OneToMany} associations with {@code LEFT JOIN}s of the same statement.
+     * Rows repeated by the joins are hydrated into one owner, joined collections are set already initialized.
+     *
+     * @param metadata metadata of the selected entity
+     * @param attribute attribute of the where condition
+     * @param columnValue value of the where condition
+     * @param fetchJoins association attributes of the entity to fetch
+     * @return managed entities in the order of the rows
+     */
+    public <T> List<T> findAllBy(EntityMetadata<T> metadata, AttributeMetadata attribute, Object columnValue,
+                                 List<AttributeMetadata> fetchJoins) throws SQLException, InvocationTargetException,
+            NoSuchMethodException, InstantiationException, IllegalAccessException {
+        if (fetchJoins.isEmpty()) {
+            return findAllBy(metadata, attribute, columnValue);
+        }
+        var joinedMetadata = fetchJoins.stream()
+            .<EntityMetadata<?>>map(join -> metadataRegistry.getMetadata(join.getTargetEntityType()))
+            .toList();
+        var selectSql = sqlStatementCache.getSelectWithJoinsSql(metadata, attribute, fetchJoins, joinedMetadata);
+        var owners = new LinkedHashMap<EntityKey<?>, T>();
+        var loaded = new LinkedHashMap<EntityKey<?>, Object>();
+        var joined = new ArrayList<Map<Object, Set<Object>>>();
+        fetchJoins.forEach(join -> joined.add(new IdentityHashMap<>()));
+        var associations = new ArrayList<PendingAssociation>();
+        try (var lease = leaseConnection()) {
+            log.trace("Preparing select statement: {}", selectSql);
+            try (var selectStatement = lease.connection().prepareStatement(selectSql)) {
+                attribute.getColumnType().bindValue(selectStatement, 1, columnValue);
+                log.debug("SQL: {}", selectStatement);
+                var resultSet = selectStatement.executeQuery();
+                var ownerPlan = hydrationPlanCache.getPlan(selectSql, metadata, resultSet, getColumnPrefix(0));
+                var joinPlans = new ArrayList<HydrationPlan<?>>();
+                for (int i = 0; i < joinedMetadata.size(); i++) {
+                    joinPlans.add(hydrationPlanCache.getPlan(selectSql, joinedMetadata.get(i), resultSet,
+                        getColumnPrefix(i + 1)));
+                }
+                while (resultSet.next()) {
+                    var owner = hydrateOnce(ownerPlan, resultSet, owners, associations);
+                    for (int i = 0; i < joinPlans.size(); i++) {
+                        var related = hydrateOnce(joinPlans.get(i), resultSet, loaded, associations);
+                        var relatedEntities = joined.get(i).computeIfAbsent(owner, o -> new LinkedHashSet<>());
+                        if (related != null) {
+                            relatedEntities.add(related);
+                        }
+                    }
+                }
+            }
+        }
+        var fetchedOwners = Collections.newSetFromMap(new IdentityHashMap<>());
+        fetchedOwners.addAll(owners.values());
+        associations.removeIf(association -> fetchedOwners.contains(association.entity())
+            && fetchJoins.contains(association.attribute()));
+        loaded.putAll(owners);
+        resolveAssociations(associations, loaded);
+        loaded.keySet().removeAll(owners.keySet());
+        var managedByKey = new HashMap<EntityKey<?>, Object>();
+        loaded.forEach((key, entity) -> managedByKey.put(key, manageLoadedEntity(entity, List.of())));
+        var entities = new ArrayList<T>(owners.size());
+        for (var entry : owners.entrySet()) {
+            var owner = entry.getValue();
+            var managedOwner = metadata.getEntityType().cast(persistenceContext.getEntity(entry.getKey()));
+            var target = managedOwner != null ? managedOwner : owner;
+            for (int i = 0; i < fetchJoins.size(); i++) {
+                var join = fetchJoins.get(i);
+                var relatedEntities = joined.get(i).getOrDefault(owner, Set.of()).stream()
+                    .map(related -> managedByKey.get(metadataRegistry.getMetadataOf(related).createKey(related)))
+                    .toList();
+                if (join.getType().isCollectionAssociation()) {
+                    if (target == owner || isUninitializedCollection(join.get(target))) {
+                        List<?> elements = new ArrayList<>(relatedEntities);
+                        join.set(target, new LazyList<>(() -> elements));
+                    }
+                } else {
+                    join.set(target, relatedEntities.isEmpty() ? null : relatedEntities.get(0));
+                }
+            }
+            entities.add(managedOwner != null ? managedOwner : manageLoadedEntity(owner, fetchJoins));
+        }
+        return entities;
+    }
+
+    /**
+     * Streams the entities whose column has the value, or all the entities of the table if the attribute is
+     * {@code null}. Rows are read from a forward-only result set fetching a chunk of rows at once,
+     * associations are resolved per chunk. On databases that use cursors only inside a transaction,
+     * auto-commit is turned off while the stream is open.
+     * The stream holds its connection until it is closed or fully read.
+     *
+     * @param metadata metadata of the selected entity
+     * @param attribute attribute of the where condition, {@code null} to select all the rows
+     * @param columnValue value of the where condition
+     * @param options fetch size of the stream and whether the entities are left out of the persistence context
+     * @return lazily populated stream of entities in the order of the rows
+     */
+    public <T> Stream<T> stream(EntityMetadata<T> metadata, AttributeMetadata attribute, Object columnValue,
+                                StreamOptions options) throws SQLException {
+        var selectSql = attribute == null
+            ? sqlStatementCache.getSelectAllSql(metadata)
+            : sqlStatementCache.getSelectByColumnSql(metadata, attribute);
+        var streamFetchSize = options.getFetchSize() != null ? options.getFetchSize() : fetchSize;
+        var cursor = new EntityCursor<>(metadata, Math.max(1, streamFetchSize), options.isDetach());
+        cursor.open(selectSql, statement -> {
+            if (attribute != null) {
+                attribute.getColumnType().bindValue(statement, 1, columnValue);
+            }
+        });
+        return StreamSupport.stream(cursor, false).onClose(cursor::close);
+    }
+
+    /**
+     * Checks whether a collection of an already managed entity can be replaced by the fetched one,
+     * i.e. it is not set or it is a lazy collection that was never read
+     */
+    private boolean isUninitializedCollection(Object collection) {
+        return collection == null || collection instanceof LazyList<?> lazyList && !lazyList.isInitialized();
+    }
+
+    /**
+     * Hydrates the entity of the current row unless it was hydrated from a previous row of the result set
+     *
+     * @return hydrated entity, {@code null} if the row has no entity, e.g. a left join did not match
+     */
+    private <T> T hydrateOnce(HydrationPlan<T> hydrationPlan, ResultSet resultSet,
+                              Map<EntityKey<?>, ? super T> hydrated, List<PendingAssociation> associations)
+            throws SQLException, InvocationTargetException, NoSuchMethodException, InstantiationException,
+            IllegalAccessException {
+        var metadata = hydrationPlan.getMetadata();
+        var id = hydrationPlan.readValue(resultSet, metadata.getAttributes().indexOf(metadata.getIdAttribute()));
+        if (id == null) {
+            return null;
+        }
+        var key = new EntityKey<>(id, metadata.getEntityType());
+        var entity = hydrated.get(key);
+        if (entity != null) {
+            return metadata.getEntityType().cast(entity);
+        }
+        var newEntity = createEntityFrom(hydrationPlan, resultSet, associations);
+        hydrated.put(key, newEntity);
+        return newEntity;
+    }
+
+    /**
+     * Puts a hydrated entity into the persistence context and registers its lazy collections,
+     * except for the already fetched ones
+     *
+     * @return the managed entity, it is another instance if the entity was already in the context
+     */
+    private <T> T manageLoadedEntity(T entity, List<AttributeMetadata> fetchedCollections) {
+        var managedEntity = persistenceContext.manageEntity(entity);
+        if (managedEntity == entity) {
+            var metadata = metadataRegistry.getMetadataOf(entity);
+            metadata.getCollectionAssociations().stream()
+                .filter(collection -> !fetchedCollections.contains(collection))
+                .forEach(collection -> collectionLoader.register(collection, metadata.getId(entity)));
+        }
+        return managedEntity;
+    }
+
+    /**
+     * Loads the entities with the given ids, see {@link #findAllIn}
+     */
+    private <T> List<T> findAllByIds(EntityMetadata<T> metadata, List<?> ids, int batchSize) throws SQLException,
+            InvocationTargetException, NoSuchMethodException, InstantiationException, IllegalAccessException {
+        var idAttribute = metadata.getIdAttribute();
+        return findAllIn(metadata, idAttribute, arrayTypeNameOf(idAttribute), ids, batchSize);
+    }
+
+    /**
+     * Loads the entities whose column has one of the values by {@code column IN (...)} chunks of at most
+     * {@code batchSize} values, or by {@code column = ANY(?)} arrays if the array type is set.
+     * The persistence context is not checked.
+     */
+    private <T> List<T> findAllIn(EntityMetadata<T> metadata, AttributeMetadata attribute, String arrayTypeName,
+                                  List<?> values, int batchSize) throws SQLException, InvocationTargetException,
+            NoSuchMethodException, InstantiationException, IllegalAccessException {
+        var chunkSize = Math.max(1, Math.min(batchSize, maxStatementParameters));
+        var columnType = attribute.getColumnType();
+        var entities = new ArrayList<T>(values.size());
+        for (int chunkStart = 0; chunkStart < values.size(); chunkStart += chunkSize) {
+            var chunk = values.subList(chunkStart, Math.min(chunkStart + chunkSize, values.size()));
+            if (arrayTypeName != null) {
+                entities.addAll(select(metadata, sqlStatementCache.getSelectByColumnArraySql(metadata, attribute),
+                    (connection, statement) ->
+                        statement.setArray(1, connection.createArrayOf(arrayTypeName, chunk.toArray()))));
+            } else {
+                var paramCount = padInClauseSize(chunk.size(), chunkSize);
+                var selectSql = sqlStatementCache.getSelectByColumnInSql(metadata, attribute, paramCount);
+                entities.addAll(select(metadata, selectSql,
+                    (connection, statement) -> {
+                        for (int i = 0; i < paramCount; i++) {
+                            columnType.bindValue(statement, i + 1, chunk.get(Math.min(i, chunk.size() - 1)));
+                        }
+                    }));
+            }
+        }
+        return entities;
+    }
+
+    private <T> List<T> select(EntityMetadata<T> metadata, String selectSql, ParameterBinder binder)
+            throws SQLException, InvocationTargetException, NoSuchMethodException, InstantiationException,
+            IllegalAccessException {
+        return select(metadata, selectSql, binder, true, false);
+    }
+
+    /**
+     * Runs the query and hydrates the rows. Associations of all the rows are resolved once the result set is read,
+     * then the entities are put into the persistence context unless they are read-only.
+     * Hydration plans of native SQL are kept in the bounded part of the plan cache.
+     */
+    private <T> List<T> select(EntityMetadata<T> metadata, String selectSql, ParameterBinder binder, boolean managed,
+                               boolean nativeSql) throws SQLException, InvocationTargetException,
+            NoSuchMethodException, InstantiationException, IllegalAccessException {
+        var rows = new ArrayList<T>();
+        var associations = new ArrayList<PendingAssociation>();
+        try (var lease = leaseConnection()) {
+            var connection = lease.connection();
             log.trace("Preparing select statement: {}", selectSql);
             try (var selectStatement = connection.prepareStatement(selectSql)) {
-                selectStatement.setObject(1, columnValue);
+                binder.bind(connection, selectStatement);
                 log.debug("SQL: {}", selectStatement);
                 var resultSet = selectStatement.executeQuery();
+                var hydrationPlan = nativeSql
+                    ? hydrationPlanCache.getNativePlan(selectSql, metadata, resultSet)
+                    : hydrationPlanCache.getPlan(selectSql, metadata, resultSet);
                 while (resultSet.next()) {
-                    var entity = createEntityFrom(entityType, resultSet);
-                    list.add(entity);
+                    rows.add(createEntityFrom(hydrationPlan, resultSet, associations));
                 }
             }
         }
-        return list;
+        resolveAssociations(associations, Map.of());
+        if (!managed) {
+            return rows;
+        }
+        var entities = new ArrayList<T>(rows.size());
+        for (var row : rows) {
+            entities.add(manageLoadedEntity(row, List.of()));
+        }
+        return entities;
     }
 
-    @SuppressWarnings("java:S3011")
-    private <T> T createEntityFrom(Class<T> entityType, ResultSet resultSet) throws NoSuchMethodException,
+    private <T> T createEntityFrom(HydrationPlan<T> hydrationPlan, ResultSet resultSet,
+                                   List<PendingAssociation> associations) throws NoSuchMethodException,
             InvocationTargetException, InstantiationException, IllegalAccessException, SQLException {
-        log.trace("Creating entity {} from the result set", entityType.getSimpleName());
-        var constructor = entityType.getConstructor();
-        var entity = constructor.newInstance();
+        var metadata = hydrationPlan.getMetadata();
+        log.trace("Creating entity {} from the result set", metadata.getEntityType().getSimpleName());
+        var entity = metadata.newInstance();
         log.trace("Processing entity fields");
-        for (var field : entityType.getDeclaredFields()) {
-            field.setAccessible(true);
-            if (isIdField(field)) {
-                log.trace("Processing id field {}", field.getName());
-                var idField = getIdField(entityType);
-                var columnName = resolveColumnName(idField);
-                log.trace("Resolved id column name '{}'", columnName);
-                var id = resultSet.getObject(columnName);
-                log.trace("Setting value '{}' to the entity id", id);
-                field.set(entity, id);
-            } else if (isSingleObjectField(field)) {
-                log.trace("Processing single object id");
-                var relatedEntityType = field.getType();
-                var fieldName = resolveColumnName(field);
-                var relatedFieldValue = resultSet.getObject(fieldName);
-                var relatedIdField = getIdField(relatedEntityType);
-                var relatedEntity = findOneBy(relatedEntityType, relatedIdField, relatedFieldValue);
-                field.set(entity, relatedEntity);
-            } else if (isMultipleObjectField(field)) {
-                log.trace("Processing collection object");
-                var parameterizedType = (ParameterizedType) field.getGenericType();
-                var parametrizedTypes = parameterizedType.getActualTypeArguments();
-                var relatedEntityType = (Class<?>) parametrizedTypes[0];
-
-                var relatedEntityField = getRelatedEntityField(entityType, relatedEntityType);
-                var entityId = getId(entity);
-
-                Supplier<List<?>> relatedEntityCollectionSupplier =
-                        () -> {
-                            try {
-                                return findAllBy(relatedEntityType, relatedEntityField, entityId);
-                            } catch (Exception e) {
-                                throw new RuntimeException("Can not find all by for %s" + relatedEntityType);
-                            }
-                        };
-                var collectionType = new LazyList<T>(relatedEntityCollectionSupplier);
-                field.set(entity, collectionType);
-            } else if (isRegularField(field)) {
-                log.trace("Processing simple field {}", field.getName());
-                var columnName = resolveColumnName(field);
-                log.trace("Resolved column name '{}'", columnName);
-                var columnValue = resolveColumnValue(resultSet.getObject(columnName));
-                log.trace("Fetched column value '{}' from the result set", columnValue);
-                log.trace("Setting value '{}' to the entity field {}", columnValue, field.getName());
-                field.set(entity, columnValue);
-            }
-        }
-        return persistenceContext.manageEntity(entity);
+        var attributes = metadata.getAttributes();
+        for (int i = 0; i < attributes.size(); i++) {
+            var attribute = attributes.get(i);
+            switch (attribute.getType()) {
+                case ID -> {
+                    log.trace("Processing id field {}", attribute.getName());
+                    hydrationPlan.hydrate(resultSet, i, entity);
+                }
+                case MANY_TO_ONE, ONE_TO_ONE -> {
+                    log.trace("Processing single object id");
+                    var foreignKey = hydrationPlan.readValue(resultSet, i);
+                    if (foreignKey != null) {
+                        associations.add(new PendingAssociation(entity, attribute, foreignKey));
+                    }
+                }
+                case ONE_TO_MANY -> {
+                    log.trace("Processing collection object");
+                    Supplier<List<?>> relatedEntityCollectionSupplier =
+                            () -> collectionLoader.load(attribute, metadata.getId(entity));
+                    var collectionType = new LazyList<T>(relatedEntityCollectionSupplier);
+                    attribute.set(entity, collectionType);
+                }
+                case BASIC -> {
+                    log.trace("Processing simple field {}", attribute.getName());
+                    hydrationPlan.hydrate(resultSet, i, entity);
+                }
+            }
+        }
+        return entity;
+    }
+
+    /**
+     * Sets the related entities of the {@code @ManyToOne}/{@code @OneToOne} attributes of the selected rows.
+     * Foreign keys of all the rows are collected first, entities found in the persistence context are reused
+     * and the rest are loaded by a few {@code IN (...)} queries per association instead of a query per row.
+     * Lazy associations get proxies instead of loading the missing entities.
+     */
+    private void resolveAssociations(List<PendingAssociation> associations, Map<EntityKey<?>, Object> loaded)
+            throws SQLException, InvocationTargetException, NoSuchMethodException, InstantiationException,
+            IllegalAccessException {
+        var associationsByAttribute = new LinkedHashMap<AttributeMetadata, List<PendingAssociation>>();
+        for (var association : associations) {
+            associationsByAttribute.computeIfAbsent(association.attribute(), attribute -> new ArrayList<>())
+                .add(association);
+        }
+        for (var entry : associationsByAttribute.entrySet()) {
+            var attribute = entry.getKey();
+            var relatedMetadata = metadataRegistry.getMetadata(attribute.getTargetEntityType());
+            var relatedById = new HashMap<Object, Object>();
+            var missingIds = new ArrayList<Object>();
+            for (var association : entry.getValue()) {
+                var foreignKey = association.foreignKey();
+                if (!relatedById.containsKey(foreignKey)) {
+                    var key = new EntityKey<>(foreignKey, relatedMetadata.getEntityType());
+                    var cachedEntity = persistenceContext.getEntity(key);
+                    if (cachedEntity == null) {
+                        cachedEntity = relatedMetadata.getEntityType().cast(loaded.get(key));
+                    }
+                    if (cachedEntity == null && attribute.isLazy()) {
+                        cachedEntity = getReference(relatedMetadata, foreignKey);
+                    }
+                    relatedById.put(foreignKey, cachedEntity);
+                    if (cachedEntity == null) {
+                        missingIds.add(foreignKey);
+                    }
+                }
+            }
+            if (!missingIds.isEmpty()) {
+                log.trace("Loading {} related entities {}", missingIds.size(),
+                    relatedMetadata.getEntityType().getSimpleName());
+                var batchSize = attribute.getBatchSize() > 0 ? attribute.getBatchSize() : batchFetchSize;
+                for (var relatedEntity : findAllByIds(relatedMetadata, missingIds, batchSize)) {
+                    relatedById.put(relatedMetadata.getId(relatedEntity), relatedEntity);
+                }
+            }
+            for (var association : entry.getValue()) {
+                var relatedEntity = relatedById.get(association.foreignKey());
+                if (relatedEntity == null) {
+                    throw new IllegalStateException("Related entity %s with id %s is not found"
+                        .formatted(relatedMetadata.getEntityType().getSimpleName(), association.foreignKey()));
+                }
+                attribute.set(association.entity(), relatedEntity);
+            }
+        }
     }
 
     public <T> T findOneBy(Class<T> entityType, Field field, Object columnValue) throws SQLException,
             InvocationTargetException, NoSuchMethodException, InstantiationException, IllegalAccessException {
+        var metadata = metadataRegistry.getMetadata(entityType);
+        return findOneBy(metadata, metadata.getAttribute(field.getName()), columnValue);
+    }
+
+    public <T> T findOneBy(EntityMetadata<T> metadata, AttributeMetadata attribute, Object columnValue)
+            throws SQLException, InvocationTargetException, NoSuchMethodException, InstantiationException,
+            IllegalAccessException {
 
-        var result = findAllBy(entityType, field, columnValue);
+        var result = findAllBy(metadata, attribute, columnValue);
         if (result.size() != 1) {
             throw new IllegalStateException("The result must contain exactly one row");
         }
         return result.get(0);
     }
 
-    private <T> void executeInsert(T entity, Connection conn, String insertQuery) {
-        try (var insertStatement = conn.prepareStatement(insertQuery)) {
-            fillInsertStatementParams(insertStatement, entity);
+    private List<?> findCollections(EntityMetadata<?> metadata, AttributeMetadata mappedBy, List<Object> ownerIds,
+                                    int batchSize) {
+        var ownerIdAttribute = metadataRegistry.getMetadata(mappedBy.getTargetEntityType()).getIdAttribute();
+        try {
+            return findAllIn(metadata, mappedBy, arrayTypeNameOf(ownerIdAttribute), ownerIds, batchSize);
+        } catch (Exception e) {
+            throw new SessionOperationException("Can not load collections of %s by %s"
+                .formatted(metadata.getEntityType().getSimpleName(), mappedBy.getName()), e);
+        }
+    }
+
+    /**
+     * Returns the managed entity with the id, or a lazy proxy of it that is shared within the session
+     */
+    private <T> T getReference(EntityMetadata<T> metadata, Object id) {
+        var entityType = metadata.getEntityType();
+        var key = new EntityKey<>(id, entityType);
+        var cachedEntity = persistenceContext.getEntity(key);
+        if (cachedEntity != null) {
+            return cachedEntity;
+        }
+        var proxy = persistenceContext.getProxy(key);
+        if (proxy != null) {
+            return entityType.cast(proxy);
+        }
+        log.trace("Creating proxy of {} with id {}", entityType.getSimpleName(), id);
+        var newProxy = proxyFactory.createProxy(metadata, id, () -> {
+            try {
+                return findById(entityType, id);
+            } catch (Exception e) {
+                throw new SessionOperationException(
+                    "Can not load %s with id %s".formatted(entityType.getSimpleName(), id), e);
+            }
+        });
+        persistenceContext.addProxy(key, newProxy);
+        return newProxy;
+    }
+
+    private <T> void executeInsert(T entity, EntityMetadata<T> metadata, Connection conn, String insertQuery) {
+        try (var insertStatement = prepareInsertStatement(conn, insertQuery, metadata)) {
+            bindInsert(insertStatement, entity, metadata);
             log.debug("SQL: " + insertQuery);
             insertStatement.executeUpdate();
-        } catch (SQLException | IllegalAccessException e) {
+            if (metadata.isIdentityGenerated()) {
+                assignGeneratedIds(insertStatement, metadata, List.of(entity));
+            }
+        } catch (SQLException e) {
             log.error("Could not prepare statement with SQL: {}", insertQuery, e);
             throw new PrepareStatementFailureException(insertQuery, e);
         }
     }
 
-    private <T> void executeUpdate(T entity, Connection conn, String updateQuery) {
+    private <T> void executeUpdate(T entity, EntityMetadata<T> metadata, Connection conn, String updateQuery) {
         try (var updateStatement = conn.prepareStatement(updateQuery)) {
-            fillUpdateStatementParams(updateStatement, entity);
-            var idParamIndex = EntityUtils.getFieldsForUpdate(entity.getClass()).length + 1;
-            updateStatement.setObject(idParamIndex, getId(entity));
+            bindUpdate(updateStatement, entity, metadata);
             log.debug("SQL: " + updateStatement);
             updateStatement.executeUpdate();
-        } catch (SQLException | IllegalAccessException e) {
+        } catch (SQLException e) {
             log.error("Could not prepare statement with SQL: {}", updateQuery, e);
             throw new PrepareStatementFailureException(updateQuery, e);
         }
     }
 
-    private void fillInsertStatementParams(PreparedStatement insertStatement, Object entity)
-            throws IllegalAccessException, SQLException {
-        Field[] fieldsForInsert = getFieldsForInsert(entity.getClass());
-        prepareStatement(insertStatement, entity, fieldsForInsert);
+    /**
+     * Rewrites the inserts into {@code INSERT ... VALUES(...),(...)} statements of {@code rowsPerStatement} rows.
+     * Full chunks share one statement and are batched, the remaining rows are inserted by a shorter statement.
+     */
+    private void insertMultiRow(EntityMetadata<?> metadata, List<?> entities, int rowsPerStatement) {
+        var fullChunks = new ArrayList<List<?>>();
+        int chunkStart = 0;
+        for (; chunkStart + rowsPerStatement <= entities.size(); chunkStart += rowsPerStatement) {
+            fullChunks.add(entities.subList(chunkStart, chunkStart + rowsPerStatement));
+        }
+        EntityBinder rowsBinder = (statement, chunk) -> bindInsertRows(statement, (List<?>) chunk, metadata);
+        if (!fullChunks.isEmpty()) {
+            executeBatch(sqlStatementCache.getMultiRowInsertSql(metadata, rowsPerStatement), fullChunks, rowsBinder,
+                generatedKeysOf(metadata));
+        }
+        if (chunkStart < entities.size()) {
+            var remainingRows = entities.subList(chunkStart, entities.size());
+            var sql = remainingRows.size() == 1
+                ? sqlStatementCache.getInsertSql(metadata)
+                : sqlStatementCache.getMultiRowInsertSql(metadata, remainingRows.size());
+            executeBatch(sql, List.of(remainingRows), rowsBinder, generatedKeysOf(metadata));
+        }
+    }
+
+    private void deleteByIdArray(Connection conn, EntityMetadata<?> metadata, List<Object> ids, String arrayTypeName) {
+        var deleteQuery = sqlStatementCache.getDeleteByIdArraySql(metadata);
+        try (var deleteStatement = conn.prepareStatement(deleteQuery)) {
+            deleteStatement.setArray(1, conn.createArrayOf(arrayTypeName, ids.toArray()));
+            log.debug("SQL: {} with {} ids", deleteQuery, ids.size());
+            deleteStatement.executeUpdate();
+        } catch (SQLException e) {
+            log.error("Could not prepare statement with SQL: {}", deleteQuery, e);
+            throw new PrepareStatementFailureException(deleteQuery, e);
+        }
+    }
+
+    /**
+     * Deletes rows by {@code id IN (...)} chunks. The parameter count of the last chunk is padded
+     * to a power of two by repeating its last id, so only a few distinct statements are cached per entity.
+     */
+    private void deleteByIdChunks(Connection conn, EntityMetadata<?> metadata, List<Object> ids) {
+        var idColumnType = metadata.getIdAttribute().getColumnType();
+        for (int chunkStart = 0; chunkStart < ids.size(); chunkStart += inClauseSize) {
+            var chunk = ids.subList(chunkStart, Math.min(chunkStart + inClauseSize, ids.size()));
+            var paramCount = padInClauseSize(chunk.size(), inClauseSize);
+            var deleteQuery = sqlStatementCache.getDeleteByIdsSql(metadata, paramCount);
+            try (var deleteStatement = conn.prepareStatement(deleteQuery)) {
+                for (int i = 0; i < paramCount; i++) {
+                    idColumnType.bindValue(deleteStatement, i + 1, chunk.get(Math.min(i, chunk.size() - 1)));
+                }
+                log.debug("SQL: {}", deleteQuery);
+                deleteStatement.executeUpdate();
+            } catch (SQLException e) {
+                log.error("Could not prepare statement with SQL: {}", deleteQuery, e);
+                throw new PrepareStatementFailureException(deleteQuery, e);
+            }
+        }
+    }
+
+    /**
+     * Returns the SQL array type of the ids if the dialect binds arrays, {@code null} otherwise
+     */
+    private String arrayTypeNameOf(AttributeMetadata idAttribute) {
+        return dialect.supportsArrayParameters() ? dialect.getArrayTypeName(idAttribute.getJavaType()) : null;
+    }
+
+    private int padInClauseSize(int size, int limit) {
+        if (size <= 1) {
+            return size;
+        }
+        return Math.min(Integer.highestOneBit(size - 1) << 1, limit);
+    }
+
+    private int resolveRowsPerInsert(EntityMetadata<?> metadata) {
+        var columns = Math.max(1, metadata.getInsertableAttributes().size());
+        return Math.max(1, Math.min(multiRowInsertSize, maxStatementParameters / columns));
+    }
+
+    /**
+     * Executes the statement once per item (an entity or a chunk of entities of a multi-row insert)
+     * on a single connection. Items are sent with {@code addBatch}/{@code executeBatch} in chunks of
+     * {@code jdbcBatchSize}, batching is turned off when the batch size is not greater than one.
+     * If {@code generatedKeysOf} is set, the ids generated for the executed rows are read back.
+     */
+    private void executeBatch(String sql, List<?> items, EntityBinder binder, EntityMetadata<?> generatedKeysOf) {
+        try (var lease = leaseConnection()) {
+            var conn = lease.connection();
+            try (var statement = prepareInsertStatement(conn, sql, generatedKeysOf)) {
+                log.debug("SQL: {} x {}", sql, items.size());
+                int batchStart = 0;
+                for (int i = 0; i < items.size(); i++) {
+                    binder.bind(statement, items.get(i));
+                    if (jdbcBatchSize > 1) {
+                        statement.addBatch();
+                        if (i + 1 - batchStart == jdbcBatchSize) {
+                            statement.executeBatch();
+                            afterExecute(statement, generatedKeysOf, items.subList(batchStart, i + 1));
+                            batchStart = i + 1;
+                        }
+                    } else {
+                        statement.executeUpdate();
+                        afterExecute(statement, generatedKeysOf, items.subList(i, i + 1));
+                        batchStart = i + 1;
+                    }
+                }
+                if (batchStart < items.size()) {
+                    statement.executeBatch();
+                    afterExecute(statement, generatedKeysOf, items.subList(batchStart, items.size()));
+                }
+            } catch (SQLException e) {
+                log.error("Could not execute batch with SQL: {}", sql, e);
+                throw new PrepareStatementFailureException(sql, e);
+            }
+        } catch (SQLException e) {
+            log.error(CONNECTION_ERROR, e);
+            throw new JDBCConnectionException(e);
+        }
+    }
+
+    private void afterExecute(PreparedStatement statement, EntityMetadata<?> generatedKeysOf, List<?> executedItems)
+            throws SQLException {
+        if (generatedKeysOf != null) {
+            var entities = executedItems.stream()
+                .flatMap(item -> item instanceof List<?> chunk ? chunk.stream() : Stream.of(item))
+                .toList();
+            assignGeneratedIds(statement, generatedKeysOf, entities);
+        }
+    }
+
+    private EntityMetadata<?> generatedKeysOf(EntityMetadata<?> metadata) {
+        return metadata.isIdentityGenerated() ? metadata : null;
+    }
+
+    /**
+     * Prepares a statement returning the id column when the ids of the entity are generated by the database
+     */
+    private PreparedStatement prepareInsertStatement(Connection conn, String sql, EntityMetadata<?> metadata)
+            throws SQLException {
+        if (metadata != null && metadata.isIdentityGenerated()) {
+            return conn.prepareStatement(sql, new String[]{metadata.getIdAttribute().getColumnName()});
+        }
+        return conn.prepareStatement(sql);
+    }
+
+    /**
+     * Sets the generated ids to the inserted entities in the order of insertion and
+     * re-registers them in the persistence context under their final keys
+     */
+    private void assignGeneratedIds(PreparedStatement statement, EntityMetadata<?> metadata, List<?> entities)
+            throws SQLException {
+        var idAttribute = metadata.getIdAttribute();
+        try (var generatedKeys = statement.getGeneratedKeys()) {
+            for (var entity : entities) {
+                if (!generatedKeys.next()) {
+                    throw new SQLException("No generated id returned for " + entity);
+                }
+                var transientKey = metadata.createKey(entity);
+                idAttribute.set(entity, idAttribute.getColumnType().readValue(generatedKeys, 1));
+                persistenceContext.updateKey(transientKey, entity);
+            }
+        }
     }
 
-    private void fillUpdateStatementParams(PreparedStatement updateStatement, Object entity)
-            throws IllegalAccessException, SQLException {
-        Field[] fieldsForInsert = getFieldsForUpdate(entity.getClass());
-        prepareStatement(updateStatement, entity, fieldsForInsert);
+    private long nextSequenceValue(String sequenceName) {
+        var sql = dialect.getSequenceNextValueSql(sequenceName);
+        try (var lease = leaseConnection();
+             var statement = lease.connection().prepareStatement(sql);
+             var resultSet = statement.executeQuery()) {
+            log.debug("SQL: {}", sql);
+            if (!resultSet.next()) {
+                throw new SQLException("Sequence %s returned no value".formatted(sequenceName));
+            }
+            return resultSet.getLong(1);
+        } catch (SQLException e) {
+            log.error("Could not prepare statement with SQL: {}", sql, e);
+            throw new PrepareStatementFailureException(sql, e);
+        }
+    }
+
+    private void bindInsert(PreparedStatement statement, Object entity, EntityMetadata<?> metadata)
+            throws SQLException {
+        prepareStatement(statement, 0, entity, metadata.getInsertableAttributes());
+    }
+
+    private void bindInsertRows(PreparedStatement statement, List<?> entities, EntityMetadata<?> metadata)
+            throws SQLException {
+        var attributes = metadata.getInsertableAttributes();
+        for (int row = 0; row < entities.size(); row++) {
+            prepareStatement(statement, row * attributes.size(), entities.get(row), attributes);
+        }
     }
 
-    @SuppressWarnings("java:S3011")
-    private static void prepareStatement(PreparedStatement statement, Object entity, Field[] fieldsForInsert) throws IllegalAccessException, SQLException {
-        for (int i = 0; i < fieldsForInsert.length; i++) {
-            var f = fieldsForInsert[i];
-            f.setAccessible(true);
-            Object columnValue = f.get(entity);
-            statement.setObject(i + 1, columnValue);
+    private void bindUpdate(PreparedStatement statement, Object entity, EntityMetadata<?> metadata)
+            throws SQLException {
+        var updatableAttributes = metadata.getUpdatableAttributes();
+        prepareStatement(statement, 0, entity, updatableAttributes);
+        var idParamIndex = updatableAttributes.size() + 1;
+        metadata.getIdAttribute().bind(statement, idParamIndex, entity);
+    }
+
+    private void bindDelete(PreparedStatement statement, Object entity, EntityMetadata<?> metadata)
+            throws SQLException {
+        metadata.getIdAttribute().bind(statement, 1, entity);
+    }
+
+    /**
+     * Binds the attribute values of the entity starting right after the given parameter offset
+     */
+    private void prepareStatement(PreparedStatement statement, int offset, Object entity,
+                                  List<AttributeMetadata> attributes) throws SQLException {
+        for (int i = 0; i < attributes.size(); i++) {
+            var attribute = attributes.get(i);
+            var paramIndex = offset + i + 1;
+            if (attribute.getType().isSingleAssociation()) {
+                var relatedEntity = attribute.get(entity);
+                var foreignKey = relatedEntity == null ? null : metadataRegistry.getMetadataOf(relatedEntity).getId(relatedEntity);
+                statement.setObject(paramIndex, foreignKey);
+            } else {
+                attribute.bind(statement, paramIndex, entity);
+            }
+        }
+    }
+
+    private ConnectionLease leaseConnection() throws SQLException {
+        if (flushConnection != null) {
+            return new ConnectionLease(flushConnection, false);
+        }
+        return new ConnectionLease(dataSource.getConnection(), true);
+    }
+
+    /**
+     * Connection used by a single operation. It is closed only if it was acquired for that operation.
+     */
+    private record ConnectionLease(Connection connection, boolean owned) implements AutoCloseable {
+        @Override
+        public void close() throws SQLException {
+            if (owned) {
+                connection.close();
+            }
+        }
+    }
+
+    /**
+     * Forward-only result set of a streamed query that hydrates its rows chunk by chunk.
+     * Nested queries of a chunk, e.g. loading of related entities, run on the connection of the cursor.
+     */
+    private class EntityCursor<T> extends Spliterators.AbstractSpliterator<T> {
+        private final EntityMetadata<T> metadata;
+        private final int chunkSize;
+        private final boolean detach;
+        private final ArrayDeque<T> buffer = new ArrayDeque<>();
+        private ConnectionLease lease;
+        private boolean restoreAutoCommit;
+        private PreparedStatement statement;
+        private ResultSet resultSet;
+        private HydrationPlan<T> hydrationPlan;
+        private boolean exhausted;
+        private boolean closed;
+
+        EntityCursor(EntityMetadata<T> metadata, int chunkSize, boolean detach) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.metadata = metadata;
+            this.chunkSize = chunkSize;
+            this.detach = detach;
         }
+
+        void open(String selectSql, StatementBinder binder) throws SQLException {
+            try {
+                lease = leaseConnection();
+                var connection = lease.connection();
+                restoreAutoCommit = dialect.requiresTransactionForCursor() && connection.getAutoCommit();
+                if (restoreAutoCommit) {
+                    connection.setAutoCommit(false);
+                }
+                log.trace("Preparing streamed select statement: {}", selectSql);
+                statement = connection.prepareStatement(selectSql, ResultSet.TYPE_FORWARD_ONLY,
+                    ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(chunkSize);
+                binder.bind(statement);
+                log.debug("SQL: {}", statement);
+                resultSet = statement.executeQuery();
+                hydrationPlan = hydrationPlanCache.getPlan(selectSql, metadata, resultSet);
+            } catch (SQLException | RuntimeException e) {
+                close();
+                throw e;
+            }
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (buffer.isEmpty() && !fetchChunk()) {
+                return false;
+            }
+            action.accept(buffer.poll());
+            return true;
+        }
+
+        private boolean fetchChunk() {
+            if (exhausted || closed) {
+                return false;
+            }
+            var rows = new ArrayList<T>(chunkSize);
+            var associations = new ArrayList<PendingAssociation>();
+            var outerConnection = flushConnection;
+            try {
+                while (rows.size() < chunkSize && resultSet.next()) {
+                    rows.add(createEntityFrom(hydrationPlan, resultSet, associations));
+                }
+                exhausted = rows.size() < chunkSize;
+                flushConnection = lease.connection();
+                resolveAssociations(associations, Map.of());
+            } catch (Exception e) {
+                close();
+                throw new SessionOperationException("Could not stream entities %s"
+                    .formatted(metadata.getEntityType().getSimpleName()), e);
+            } finally {
+                flushConnection = outerConnection;
+            }
+            for (var row : rows) {
+                buffer.add(detach ? row : manageLoadedEntity(row, List.of()));
+            }
+            if (exhausted) {
+                close();
+            }
+            return !buffer.isEmpty();
+        }
+
+        void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            log.trace("Closing streamed result set of {}", metadata.getEntityType().getSimpleName());
+            try {
+                try {
+                    if (resultSet != null) {
+                        resultSet.close();
+                    }
+                } finally {
+                    try {
+                        if (statement != null) {
+                            statement.close();
+                        }
+                    } finally {
+                        releaseConnection();
+                    }
+                }
+            } catch (SQLException e) {
+                log.error(CONNECTION_ERROR, e);
+                throw new JDBCConnectionException(e);
+            }
+        }
+
+        private void releaseConnection() throws SQLException {
+            if (lease == null) {
+                return;
+            }
+            try {
+                if (restoreAutoCommit) {
+                    lease.connection().commit();
+                    lease.connection().setAutoCommit(true);
+                }
+            } finally {
+                lease.close();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface EntityBinder {
+        void bind(PreparedStatement statement, Object entity) throws SQLException;
+    }
+
+    @FunctionalInterface
+    private interface StatementBinder {
+        void bind(PreparedStatement statement) throws SQLException;
+    }
+
+    @FunctionalInterface
+    private interface ParameterBinder {
+        void bind(Connection connection, PreparedStatement statement) throws SQLException;
+    }
+
+    /**
+     * Foreign key of a selected row whose related entity is not resolved yet
+     */
+    private record PendingAssociation(Object entity, AttributeMetadata attribute, Object foreignKey) {
     }
 }
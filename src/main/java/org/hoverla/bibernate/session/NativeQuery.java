@@ -0,0 +1,91 @@
+package org.hoverla.bibernate.session;
+
+import org.hoverla.bibernate.exception.session.SessionOperationException;
+import org.hoverla.bibernate.metadata.EntityMetadata;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Native SQL query of a {@link Session} whose rows are hydrated into entities, for example
+ * <pre>{@code
+ * session.createNativeQuery("SELECT * FROM person WHERE age > ? ORDER BY age", Person.class)
+ *     .setParameter(1, 18)
+ *     .getResultList();
+ * }</pre>
+ * The query must select all the mapped columns of the entity table. Column positions are cached per SQL string
+ * for the recently used queries only, so values should be bound as parameters rather than inlined.
+ */
+public class NativeQuery<T> {
+    private final EntityPersister persister;
+    private final EntityMetadata<T> metadata;
+    private final String sql;
+    /**
+     * Throws if the session the query was created by is closed
+     */
+    private final Runnable sessionCheck;
+    private final List<Object> parameters = new ArrayList<>();
+    private boolean readOnly;
+
+    NativeQuery(EntityPersister persister, EntityMetadata<T> metadata, String sql, Runnable sessionCheck) {
+        this.persister = persister;
+        this.metadata = metadata;
+        this.sql = sql;
+        this.sessionCheck = sessionCheck;
+    }
+
+    /**
+     * Sets the value of the positional {@code ?} parameter
+     *
+     * @param position 1-based position of the parameter
+     * @param value parameter value
+     */
+    public NativeQuery<T> setParameter(int position, Object value) {
+        if (position < 1) {
+            throw new IllegalArgumentException("Parameter positions start at 1, got %d".formatted(position));
+        }
+        while (parameters.size() < position) {
+            parameters.add(null);
+        }
+        parameters.set(position - 1, value);
+        return this;
+    }
+
+    /**
+     * Sets whether the found entities are left out of the persistence context, so they are not dirty checked
+     */
+    public NativeQuery<T> setReadOnly(boolean readOnly) {
+        this.readOnly = readOnly;
+        return this;
+    }
+
+    /**
+     * Runs the query
+     *
+     * @return the found entity instances list or empty collection
+     * @throws SessionOperationException if the query fails, a mapped column is not selected, etc.
+     * @throws IllegalStateException if session is already closed
+     */
+    public List<T> getResultList() {
+        sessionCheck.run();
+        try {
+            return persister.findAllByNativeQuery(metadata, sql, new ArrayList<>(parameters), readOnly);
+        } catch (Exception e) {
+            throw new SessionOperationException("Could not run native query of type: %s: %s"
+                .formatted(metadata.getEntityType().getSimpleName(), sql), e);
+        }
+    }
+
+    /**
+     * Runs the query that must return exactly one row
+     *
+     * @throws IllegalStateException if the query does not return exactly one row
+     */
+    public T getSingleResult() {
+        var result = getResultList();
+        if (result.size() != 1) {
+            throw new IllegalStateException("The result must contain exactly one row");
+        }
+        return result.get(0);
+    }
+}
@@ -0,0 +1,23 @@
+package org.hoverla.bibernate.session;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Result of a paged query of a {@link Session}
+ */
+@Getter
+@RequiredArgsConstructor
+public class Page<T> {
+    private final List<T> content;
+    /**
+     * Request of the next page, {@code null} if this page is the last one
+     */
+    private final PageRequest nextPageRequest;
+
+    public boolean hasNext() {
+        return nextPageRequest != null;
+    }
+}
@@ -0,0 +1,62 @@
+package org.hoverla.bibernate.session;
+
+import lombok.Getter;
+
+/**
+ * Page of a paged query of a {@link Session}. Rows are ordered by id.
+ * Offset pages skip the rows of the previous pages, keyset pages seek past the last id of the previous page,
+ * so deep keyset pages cost as much as the first one.
+ */
+@Getter
+public class PageRequest {
+    private final int limit;
+    private final int offset;
+    private final boolean keyset;
+    /**
+     * Id of the last row of the previous keyset page, {@code null} for the first page
+     */
+    private final Object afterId;
+
+    private PageRequest(int limit, int offset, boolean keyset, Object afterId) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Page limit must be positive, got %d".formatted(limit));
+        }
+        if (offset < 0) {
+            throw new IllegalArgumentException("Page offset must not be negative, got %d".formatted(offset));
+        }
+        this.limit = limit;
+        this.offset = offset;
+        this.keyset = keyset;
+        this.afterId = afterId;
+    }
+
+    /**
+     * Page that skips the given number of rows
+     */
+    public static PageRequest ofOffset(int offset, int limit) {
+        return new PageRequest(limit, offset, false, null);
+    }
+
+    /**
+     * First page of a keyset paging
+     */
+    public static PageRequest ofKeyset(int limit) {
+        return new PageRequest(limit, 0, true, null);
+    }
+
+    /**
+     * Keyset page of the rows whose id is greater than the given one
+     */
+    public static PageRequest after(Object afterId, int limit) {
+        return new PageRequest(limit, 0, true, afterId);
+    }
+
+    /**
+     * Returns the request of the page following this one
+     *
+     * @param lastId id of the last row of this page
+     */
+    PageRequest next(Object lastId) {
+        return keyset ? after(lastId, limit) : ofOffset(offset + limit, limit);
+    }
+}
@@ -1,6 +1,8 @@
 package org.hoverla.bibernate.session;
 
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
+import org.hoverla.bibernate.metadata.MetadataRegistry;
 import org.hoverla.bibernate.util.EntityKey;
 
 import java.util.ArrayList;
@@ -10,8 +12,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
-import static org.hoverla.bibernate.util.EntityUtils.mapToSnapshot;
-
 /**
  * This class is serves as a first level cache of a current session.
  * All the entities are stored in a map to ensure that we don't query the
@@ -21,11 +21,22 @@ import static org.hoverla.bibernate.util.EntityUtils.mapToSnapshot;
 public class PersistenceContext {
     private final Map<EntityKey<?>, Object> entitiesMap = new HashMap<>();
     private final Map<EntityKey<?>, Object[]> snapshotCopiesMap = new HashMap<>();
+    private final Map<EntityKey<?>, Object> proxiesMap = new HashMap<>();
+    @Getter
+    private final MetadataRegistry metadataRegistry;
+
+    public PersistenceContext() {
+        this(new MetadataRegistry());
+    }
+
+    public PersistenceContext(MetadataRegistry metadataRegistry) {
+        this.metadataRegistry = metadataRegistry;
+    }
 
     @SuppressWarnings("unchecked")
     public <T> T manageEntity(T entity) {
         log.trace("Checking entity {}", entity);
-        var key = EntityKey.valueOf(entity);
+        var key = keyOf(entity);
 
         var cachedEntity = entitiesMap.get(key);
         if (cachedEntity != null) {
@@ -44,15 +55,41 @@ public class PersistenceContext {
 
     public <T> T addEntity(T entity) {
         log.trace("Adding entity {} to the PersistenceContext", entity);
-        var key = EntityKey.valueOf(entity);
+        var metadata = metadataRegistry.getMetadataOf(entity);
+        var key = metadata.createKey(entity);
         entitiesMap.put(key, entity);
-        snapshotCopiesMap.put(key, mapToSnapshot(entity));
+        snapshotCopiesMap.put(key, metadata.createSnapshot(entity));
         return entity;
     }
 
+    /**
+     * Moves an entity registered under a transient key to the key of its id once the id is generated
+     *
+     * @param transientKey key the entity was registered under before it got its id
+     * @param entity entity with the generated id
+     */
+    public void updateKey(EntityKey<?> transientKey, Object entity) {
+        if (entitiesMap.remove(transientKey) != null) {
+            snapshotCopiesMap.remove(transientKey);
+            addEntity(entity);
+        }
+    }
+
+    /**
+     * Returns the lazy proxy created for the key in this context, so all the associations share one proxy
+     */
+    public Object getProxy(EntityKey<?> key) {
+        return proxiesMap.get(key);
+    }
+
+    public void addProxy(EntityKey<?> key, Object proxy) {
+        log.trace("Adding proxy of {} to the PersistenceContext", key);
+        proxiesMap.put(key, proxy);
+    }
+
     public boolean contains(Object entity) {
         log.trace("Checking if entity {} is present in persistence context", entity);
-        var key = EntityKey.valueOf(entity);
+        var key = keyOf(entity);
         return entitiesMap.containsKey(key);
     }
 
@@ -61,7 +98,7 @@ public class PersistenceContext {
         var dirtyEntities = new ArrayList<>();
         for (Entry<EntityKey<?>, Object> entry: entitiesMap.entrySet()) {
             Object currentEntity = entry.getValue();
-            Object[] currentSnapshot = mapToSnapshot(currentEntity);
+            Object[] currentSnapshot = metadataRegistry.getMetadataOf(currentEntity).createSnapshot(currentEntity);
             Object[] initialSnapshot = snapshotCopiesMap.get(entry.getKey());
             if (!Arrays.equals(initialSnapshot, currentSnapshot)) {
                 log.trace("Found dirty entity: {}", currentEntity);
@@ -76,5 +113,10 @@ public class PersistenceContext {
     public void clear() {
         entitiesMap.clear();
         snapshotCopiesMap.clear();
+        proxiesMap.clear();
+    }
+
+    private EntityKey<?> keyOf(Object entity) {
+        return metadataRegistry.getMetadataOf(entity).createKey(entity);
     }
 }
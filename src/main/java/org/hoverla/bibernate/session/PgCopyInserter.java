@@ -0,0 +1,112 @@
+package org.hoverla.bibernate.session;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hoverla.bibernate.metadata.AttributeMetadata;
+import org.hoverla.bibernate.metadata.EntityMetadata;
+import org.hoverla.bibernate.metadata.MetadataRegistry;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.function.Consumer;
+
+/**
+ * Streams entities into a PostgreSQL table with {@code COPY ... FROM STDIN} in CSV format.
+ * Rows are encoded from the insertable attributes of the entity and sent in chunks,
+ * so the entities are never collected in memory.
+ */
+@Slf4j
+@RequiredArgsConstructor
+class PgCopyInserter {
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private final MetadataRegistry metadataRegistry;
+
+    /**
+     * Checks that the connection is, or wraps, a PostgreSQL driver connection
+     */
+    boolean supports(Connection connection) throws SQLException {
+        return connection.isWrapperFor(PGConnection.class);
+    }
+
+    /**
+     * Copies the entities into the table of the entity
+     *
+     * @param connection connection {@link #supports supported} by the inserter
+     * @param copySql {@code COPY ... FROM STDIN} statement
+     * @param metadata entity metadata
+     * @param entities entities to copy
+     * @param beforeCopy called for every entity before it is encoded, e.g. to generate its id
+     * @return number of copied rows
+     */
+    <T> long copyIn(Connection connection, String copySql, EntityMetadata<T> metadata, Iterator<T> entities,
+                    Consumer<T> beforeCopy) throws SQLException {
+        log.debug("SQL: {}", copySql);
+        var copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(copySql);
+        try {
+            var rows = new StringBuilder(CHUNK_SIZE + 1024);
+            while (entities.hasNext()) {
+                var entity = entities.next();
+                beforeCopy.accept(entity);
+                appendRow(rows, entity, metadata);
+                if (rows.length() >= CHUNK_SIZE) {
+                    write(copyIn, rows);
+                }
+            }
+            write(copyIn, rows);
+            var copiedRows = copyIn.endCopy();
+            log.debug("Copied {} rows into {}", copiedRows, metadata.getTableName());
+            return copiedRows;
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    private void appendRow(StringBuilder rows, Object entity, EntityMetadata<?> metadata) {
+        var attributes = metadata.getInsertableAttributes();
+        for (int i = 0; i < attributes.size(); i++) {
+            if (i > 0) {
+                rows.append(',');
+            }
+            appendValue(rows, columnValue(attributes.get(i), entity));
+        }
+        rows.append('\n');
+    }
+
+    private Object columnValue(AttributeMetadata attribute, Object entity) {
+        var value = attribute.get(entity);
+        if (value != null && attribute.getType().isSingleAssociation()) {
+            return metadataRegistry.getMetadataOf(value).getId(value);
+        }
+        return value;
+    }
+
+    /**
+     * Unquoted empty value is NULL in CSV format, so strings are always quoted
+     */
+    private void appendValue(StringBuilder rows, Object value) {
+        if (value == null) {
+            return;
+        }
+        if (value instanceof Number || value instanceof Boolean) {
+            rows.append(value);
+        } else {
+            rows.append('"').append(value.toString().replace("\"", "\"\"")).append('"');
+        }
+    }
+
+    private void write(CopyIn copyIn, StringBuilder rows) throws SQLException {
+        if (rows.isEmpty()) {
+            return;
+        }
+        var bytes = rows.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        rows.setLength(0);
+    }
+}
@@ -2,9 +2,12 @@ package org.hoverla.bibernate.session;
 
 import org.hoverla.bibernate.exception.session.DuplicateEntityException;
 import org.hoverla.bibernate.exception.session.SessionOperationException;
+import org.hoverla.bibernate.query.Criteria;
 import org.hoverla.bibernate.session.transaction.manager.TransactionManager;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface Session extends AutoCloseable {
 
@@ -34,6 +37,27 @@ public interface Session extends AutoCloseable {
      */
     <T> T merge(T entity);
 
+    /**
+     * Insert the entities right away in bulk, bypassing the persistence context.
+     * The inserted entities are not managed by the session and pending changes are not flushed.
+     * On PostgreSQL rows are streamed with {@code COPY}, other databases get batched inserts.
+     * @param entityType  entity class
+     * @param entities  entity instances
+     * @return the number of inserted rows
+     * @throws IllegalStateException if session is already closed
+     */
+    <T> long bulkInsert(Class<T> entityType, Iterable<T> entities);
+
+    /**
+     * Insert the entities of the stream right away in bulk, bypassing the persistence context.
+     * @param entityType  entity class
+     * @param entities  stream of entity instances, it is consumed lazily
+     * @return the number of inserted rows
+     * @throws IllegalStateException if session is already closed
+     * @see #bulkInsert(Class, Iterable)
+     */
+    <T> long bulkInsert(Class<T> entityType, Stream<T> entities);
+
     /**
      * Find by primary key.
      * Search for an entity of the specified class and primary key.
@@ -49,6 +73,34 @@ public interface Session extends AutoCloseable {
      */
     <T> T find(Class<T> entityType, Object id);
 
+    /**
+     * Find by primary key fetching the given associations in the same query.
+     * The associations are joined with {@code LEFT JOIN}, so the entity, its related entities
+     * and its collections are loaded by one statement.
+     * If the entity instance is contained in the persistence context,
+     * it is returned from there.
+     * @param entityType  entity class
+     * @param id  primary key
+     * @param fetchJoins  names of the {@code @ManyToOne}, {@code @OneToOne} or {@code @OneToMany} fields to fetch
+     * @return the found entity instance
+     * @throws SessionOperationException if the entity is not found, a field is not an association,
+     * connection has not been established, etc.
+     * @throws IllegalStateException if session is already closed
+     */
+    <T> T find(Class<T> entityType, Object id, String... fetchJoins);
+
+    /**
+     * Find by ids.
+     * Entities contained in the persistence context are returned from there,
+     * the rest are loaded by a few {@code IN (...)} queries instead of a query per id.
+     * @param entityType  entity class
+     * @param ids  ids of the entities
+     * @return the found entity instances aligned with the ids, {@code null} for the ids that are not found
+     * @throws SessionOperationException if connection has not been established, etc.
+     * @throws IllegalStateException if session is already closed
+     */
+    <T> List<T> findAllById(Class<T> entityType, Collection<?> ids);
+
     /**
      * Find by field.
      * Search for entities of the specified class and one of its fields.
@@ -63,6 +115,106 @@ public interface Session extends AutoCloseable {
      */
     <T> List<T> findAllBy(Class<T> entityType, String fieldName, Object value);
 
+    /**
+     * Find by field fetching the given associations in the same query.
+     * Rows repeated by the joined collections are returned as one entity.
+     * @param entityType  entity class
+     * @param fieldName  name of the field
+     * @param value value of the field
+     * @param fetchJoins  names of the {@code @ManyToOne}, {@code @OneToOne} or {@code @OneToMany} fields to fetch
+     * @return the found entity instances list or empty collection
+     * @throws SessionOperationException if a field is not an association, connection has not been established, etc.
+     * @throws IllegalStateException if session is already closed
+     * @see #find(Class, Object, String...)
+     */
+    <T> List<T> findAllBy(Class<T> entityType, String fieldName, Object value, String... fetchJoins);
+
+    /**
+     * Find a page of the entities of the specified class ordered by id.
+     * Use {@link PageRequest#ofKeyset(int)} and then {@link Page#getNextPageRequest()}
+     * to page through large tables: keyset pages seek by id instead of skipping the previous rows.
+     * @param entityType  entity class
+     * @param pageRequest  offset or keyset page
+     * @return the entities of the page and the request of the next page
+     * @throws SessionOperationException if connection has not been established, etc.
+     * @throws IllegalStateException if session is already closed
+     */
+    <T> Page<T> findAll(Class<T> entityType, PageRequest pageRequest);
+
+    /**
+     * Find a page of the entities of the specified class by one of its fields, ordered by id.
+     * @param entityType  entity class
+     * @param fieldName  name of the field
+     * @param value value of the field
+     * @param pageRequest  offset or keyset page
+     * @return the entities of the page and the request of the next page
+     * @throws SessionOperationException if connection has not been established, etc.
+     * @throws IllegalStateException if session is already closed
+     * @see #findAll(Class, PageRequest)
+     */
+    <T> Page<T> findAllBy(Class<T> entityType, String fieldName, Object value, PageRequest pageRequest);
+
+    /**
+     * Find the entities matching the criteria query.
+     * Queries of the same shape, i.e. differing only by values, reuse the same SQL statement.
+     * @param criteria  conditions, order and limit of the query
+     * @return the found entity instances list or empty collection
+     * @throws SessionOperationException if a field is not mapped to a column, connection has not been established,
+     * etc.
+     * @throws IllegalStateException if session is already closed
+     */
+    <T> List<T> findAll(Criteria<T> criteria);
+
+    /**
+     * Find the rows matching the criteria query mapped into a record or an interface.
+     * Only the columns of the projection components are selected. The results are plain values:
+     * they are not managed by the session, not dirty checked and their associations are not loaded.
+     * @param criteria  conditions, order and limit of the query
+     * @param projectionType  record or interface whose components or getters are named after the entity fields
+     * @return the found projections list or empty collection
+     * @throws SessionOperationException if a component does not match a column, connection has not been
+     * established, etc.
+     * @throws IllegalStateException if session is already closed
+     */
+    <T, P> List<P> findAll(Criteria<T> criteria, Class<P> projectionType);
+
+    /**
+     * Create a native SQL query whose rows are hydrated into entities of the specified class.
+     * The query must select all the mapped columns, the found entities are managed by the session
+     * unless the query is set read-only.
+     * @param sql  native SQL query with positional {@code ?} parameters
+     * @param entityType  entity class
+     * @return the query to set the parameters of and to run
+     * @throws IllegalStateException if session is already closed
+     */
+    <T> NativeQuery<T> createNativeQuery(String sql, Class<T> entityType);
+
+    /**
+     * Stream all the entities of the specified class.
+     * Rows are read through a server-side cursor a chunk at a time, so large tables
+     * are processed without loading them into memory at once.
+     * The stream holds a database connection and must be closed, e.g. by try-with-resources.
+     * @param entityType  entity class
+     * @param options  fetch size of the cursor and whether the entities are detached from the session
+     * @return lazily populated stream of the entities
+     * @throws SessionOperationException if connection has not been established, etc.
+     * @throws IllegalStateException if session is already closed
+     */
+    <T> Stream<T> stream(Class<T> entityType, StreamOptions options);
+
+    /**
+     * Stream the entities of the specified class by one of its fields.
+     * @param entityType  entity class
+     * @param fieldName  name of the field
+     * @param value value of the field
+     * @param options  fetch size of the cursor and whether the entities are detached from the session
+     * @return lazily populated stream of the entities
+     * @throws SessionOperationException if connection has not been established, etc.
+     * @throws IllegalStateException if session is already closed
+     * @see #stream(Class, StreamOptions)
+     */
+    <T> Stream<T> stream(Class<T> entityType, String fieldName, Object value, StreamOptions options);
+
     /**
      * Find by field.
      * Search for an entity of the specified class and one of its fields.
@@ -0,0 +1,27 @@
+package org.hoverla.bibernate.session;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Options of the streamed queries of a {@link Session}
+ */
+@Getter
+@Builder
+public class StreamOptions {
+    /**
+     * Number of rows fetched from the database at once, the configured fetch size is used if it is not set
+     */
+    private final Integer fetchSize;
+
+    /**
+     * Whether the streamed entities are left out of the persistence context,
+     * so memory stays flat however many rows are read. Changes of such entities are not flushed.
+     */
+    @Builder.Default
+    private final boolean detach = false;
+
+    public static StreamOptions defaults() {
+        return builder().build();
+    }
+}
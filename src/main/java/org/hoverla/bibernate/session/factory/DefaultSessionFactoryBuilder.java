@@ -4,18 +4,42 @@ import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 import org.hoverla.bibernate.configuration.Configuration;
 import org.hoverla.bibernate.connectionpool.util.BibariDataSource;
+import org.hoverla.bibernate.dialect.Dialect;
 import org.hoverla.bibernate.exception.ExceptionMessages;
 import org.hoverla.bibernate.exception.datasource.DataSourceNotFoundException;
+import org.hoverla.bibernate.metadata.EntityScanner;
 
 import javax.sql.DataSource;
+import java.util.Set;
 
 public class DefaultSessionFactoryBuilder implements SessionFactoryBuilder {
 
     @Override
     public SessionFactory build(Configuration conf) {
         Configuration.ConnPoolProviderType poolProvider = conf.getPoolProvider();
+        SessionFactoryContext context = buildContext(conf);
         DataSource dataSource = configureDatasourceBasedOnProvider(poolProvider, conf);
-        return new SessionFactoryImpl(dataSource, conf);
+        return new SessionFactoryImpl(dataSource, conf, context);
+    }
+
+    /**
+     * Scans the configured packages and registers the metadata of found entities before
+     * any connection is opened, so mapping errors fail the build of the session factory.
+     */
+    private SessionFactoryContext buildContext(Configuration conf) {
+        SessionFactoryContext context = SessionFactoryContext.builder()
+            .jdbcBatchSize(conf.getJdbcBatchSize())
+            .multiRowInsertSize(conf.getMultiRowInsertSize())
+            .maxStatementParameters(conf.getMaxStatementParameters())
+            .inClauseSize(conf.getInClauseSize())
+            .batchFetchSize(conf.getBatchFetchSize())
+            .fetchSize(conf.getFetchSize())
+            .dialect(Dialect.fromUrl(conf.getUrl()))
+            .build();
+        Set<Class<?>> entityTypes = new EntityScanner().scan(conf.getEntityPackageToScan());
+        context.getMetadataRegistry().register(entityTypes);
+        context.getSqlStatementCache().warmUp(context.getMetadataRegistry().getAllMetadata());
+        return context;
     }
 
     private DataSource configureDatasourceBasedOnProvider(Configuration.ConnPoolProviderType poolProvider, Configuration conf) {
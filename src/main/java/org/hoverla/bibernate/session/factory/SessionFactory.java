@@ -2,7 +2,16 @@ package org.hoverla.bibernate.session.factory;
 
 
 import org.hoverla.bibernate.session.Session;
+import org.hoverla.bibernate.sql.SqlStatementCache;
 
 public interface SessionFactory extends AutoCloseable {
     Session openSession();
+
+    /**
+     * Get the cache of generated SQL statements shared by the sessions of this factory.
+     * Its hit and miss counters show whether statements are rebuilt at runtime.
+     *
+     * @return SQL statement cache
+     */
+    SqlStatementCache getSqlStatementCache();
 }
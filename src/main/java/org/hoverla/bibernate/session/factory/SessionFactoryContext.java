@@ -0,0 +1,75 @@
+package org.hoverla.bibernate.session.factory;
+
+import lombok.Builder;
+import lombok.Getter;
+import org.hoverla.bibernate.configuration.Configuration;
+import org.hoverla.bibernate.dialect.Dialect;
+import org.hoverla.bibernate.dialect.GenericDialect;
+import org.hoverla.bibernate.hydration.HydrationPlanCache;
+import org.hoverla.bibernate.id.IdGenerators;
+import org.hoverla.bibernate.metadata.MetadataRegistry;
+import org.hoverla.bibernate.proxy.ProxyFactory;
+import org.hoverla.bibernate.query.ProjectionCache;
+import org.hoverla.bibernate.sql.SqlStatementCache;
+
+/**
+ * Thread-safe state of a session factory that is shared by every session it opens
+ */
+@Getter
+@Builder
+public class SessionFactoryContext {
+    @Builder.Default
+    private final MetadataRegistry metadataRegistry = new MetadataRegistry();
+
+    @Builder.Default
+    private final SqlStatementCache sqlStatementCache = new SqlStatementCache();
+
+    @Builder.Default
+    private final HydrationPlanCache hydrationPlanCache = new HydrationPlanCache();
+
+    /**
+     * Maximum number of statements sent in one JDBC batch during the flush
+     */
+    @Builder.Default
+    private final int jdbcBatchSize = Configuration.DEFAULT_JDBC_BATCH_SIZE;
+
+    /**
+     * Maximum number of rows of a multi-row insert, multi-row inserts are turned off if it is not greater than one
+     */
+    @Builder.Default
+    private final int multiRowInsertSize = Configuration.DEFAULT_MULTI_ROW_INSERT_SIZE;
+
+    @Builder.Default
+    private final int maxStatementParameters = Configuration.DEFAULT_MAX_STATEMENT_PARAMETERS;
+
+    @Builder.Default
+    private final int inClauseSize = Configuration.DEFAULT_IN_CLAUSE_SIZE;
+
+    /**
+     * Maximum number of related entities loaded by one query, unless the association sets its own {@code @BatchSize}
+     */
+    @Builder.Default
+    private final int batchFetchSize = Configuration.DEFAULT_BATCH_FETCH_SIZE;
+
+    /**
+     * Number of rows fetched at once by streamed queries, unless the query sets its own fetch size
+     */
+    @Builder.Default
+    private final int fetchSize = Configuration.DEFAULT_FETCH_SIZE;
+
+    @Builder.Default
+    private final Dialect dialect = new GenericDialect();
+
+    @Builder.Default
+    private final IdGenerators idGenerators = new IdGenerators();
+
+    @Builder.Default
+    private final ProxyFactory proxyFactory = new ProxyFactory();
+
+    @Builder.Default
+    private final ProjectionCache projectionCache = new ProjectionCache();
+
+    public static SessionFactoryContext defaults() {
+        return builder().build();
+    }
+}
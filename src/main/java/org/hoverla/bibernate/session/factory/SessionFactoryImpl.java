@@ -3,6 +3,7 @@ package org.hoverla.bibernate.session.factory;
 import org.hoverla.bibernate.configuration.Configuration;
 import org.hoverla.bibernate.session.DefaultSession;
 import org.hoverla.bibernate.session.Session;
+import org.hoverla.bibernate.sql.SqlStatementCache;
 import org.hoverla.bibernate.util.DdlGenerator;
 
 import javax.sql.DataSource;
@@ -11,10 +12,16 @@ public class SessionFactoryImpl implements SessionFactory {
 
     private final DataSource dataSource;
     private final DdlGenerator ddlGenerator;
+    private final SessionFactoryContext context;
 
     public SessionFactoryImpl(DataSource dataSource, Configuration conf) {
+        this(dataSource, conf, SessionFactoryContext.defaults());
+    }
+
+    public SessionFactoryImpl(DataSource dataSource, Configuration conf, SessionFactoryContext context) {
         this.dataSource = dataSource;
         this.ddlGenerator = new DdlGenerator(dataSource);
+        this.context = context;
         generateDDl(conf);
     }
 
@@ -26,7 +33,12 @@ public class SessionFactoryImpl implements SessionFactory {
 
     @Override
     public Session openSession() {
-        return new DefaultSession(dataSource);
+        return new DefaultSession(dataSource, context);
+    }
+
+    @Override
+    public SqlStatementCache getSqlStatementCache() {
+        return context.getSqlStatementCache();
     }
 
     @Override
@@ -1,5 +1,7 @@
 package org.hoverla.bibernate.session.transaction;
 
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
 import java.sql.Connection;
 import java.sql.SQLException;
 import javax.sql.DataSource;
@@ -15,9 +17,24 @@ public class DelegatingDataSource implements DataSource {
 
     private final TransactionManager transactionManager;
 
+    /**
+     * Returns the connection of the current transaction. Closing it does not release it,
+     * the connection is released by the transaction manager on commit or rollback.
+     */
     @Override
     public Connection getConnection() throws SQLException {
-        return transactionManager.get();
+        var connection = transactionManager.get();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+            (proxy, method, args) -> {
+                if ("close".equals(method.getName())) {
+                    return null;
+                }
+                try {
+                    return method.invoke(connection, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            });
     }
 
     private interface Exclude {
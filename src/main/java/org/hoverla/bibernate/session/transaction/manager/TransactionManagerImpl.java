@@ -29,12 +29,11 @@ public class TransactionManagerImpl implements TransactionManager {
         checkConnectionActive(delegatingConnection);
 
         if (delegatingConnection == TRANSACTION_MARKER) {
-            try (Connection physicalConnection = rawDataSource.getConnection()) {
-                physicalConnection.setAutoCommit(false);
-                log.debug("Obtained a new DB connection");
-                connections.set(physicalConnection);
-                return physicalConnection;
-            }
+            Connection physicalConnection = rawDataSource.getConnection();
+            physicalConnection.setAutoCommit(false);
+            log.debug("Obtained a new DB connection");
+            connections.set(physicalConnection);
+            return physicalConnection;
         }
 
         return delegatingConnection;
@@ -54,11 +53,16 @@ public class TransactionManagerImpl implements TransactionManager {
         Optional
             .ofNullable(connections.get())
             .ifPresentOrElse(
-                rawConnection -> {
+                marker -> {
                     try {
                         session.flush();
-                        rawConnection.commit();
-                        rawConnection.close();
+                        // the flush may have replaced the marker with a physical connection
+                        var rawConnection = connections.get();
+                        if (rawConnection != TRANSACTION_MARKER) {
+                            rawConnection.commit();
+                            rawConnection.close();
+                        }
+                        connections.remove();
                         log.debug("Transaction has been successfully committed");
                     } catch (Exception ex) {
                         throw new TransactionalOperationException("Exception during transaction commit", ex);
@@ -75,8 +79,11 @@ public class TransactionManagerImpl implements TransactionManager {
             .ifPresentOrElse(
                 rawConnection -> {
                     try {
-                        rawConnection.rollback();
-                        rawConnection.close();
+                        if (rawConnection != TRANSACTION_MARKER) {
+                            rawConnection.rollback();
+                            rawConnection.close();
+                        }
+                        connections.remove();
                         log.debug("Transaction has been successfully rolled back");
                     } catch (Exception ex) {
                         throw new TransactionalOperationException("Exception during transaction rollback", ex);
@@ -0,0 +1,199 @@
+package org.hoverla.bibernate.sql;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hoverla.bibernate.dialect.Dialect;
+import org.hoverla.bibernate.metadata.AttributeMetadata;
+import org.hoverla.bibernate.metadata.EntityMetadata;
+import org.hoverla.bibernate.query.Criteria;
+import org.hoverla.bibernate.query.Projection;
+import org.hoverla.bibernate.util.SqlUtils;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Session factory scoped cache of the SQL statements generated for entities.
+ * Each statement is built once per entity (and per column for selects) and then reused by all the sessions.
+ * Statements of criteria queries and projections depend on the shapes built by the application,
+ * so only the most recently used ones are kept in a bounded least recently used map.
+ * Hit and miss counters allow to verify that statements are not rebuilt on the hot path.
+ */
+@Slf4j
+public class SqlStatementCache {
+    public static final int DEFAULT_MAX_QUERY_SHAPES = 256;
+
+    private final Map<StatementKey, String> statements = new ConcurrentHashMap<>();
+    private final Map<StatementKey, String> queryStatements;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public SqlStatementCache() {
+        this(DEFAULT_MAX_QUERY_SHAPES);
+    }
+
+    public SqlStatementCache(int maxQueryShapes) {
+        this.queryStatements = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<StatementKey, String> eldest) {
+                return size() > maxQueryShapes;
+            }
+        });
+    }
+
+    public String getInsertSql(EntityMetadata<?> metadata) {
+        return getOrBuild(new StatementKey(metadata.getEntityType(), StatementType.INSERT, null),
+            () -> SqlUtils.buildInsertSql(metadata));
+    }
+
+    public String getMultiRowInsertSql(EntityMetadata<?> metadata, int rows) {
+        return getOrBuild(new StatementKey(metadata.getEntityType(), StatementType.MULTI_ROW_INSERT, rows),
+            () -> SqlUtils.buildMultiRowInsertSql(metadata, rows));
+    }
+
+    public String getCopyFromStdinSql(EntityMetadata<?> metadata) {
+        return getOrBuild(new StatementKey(metadata.getEntityType(), StatementType.COPY_FROM_STDIN, null),
+            () -> SqlUtils.buildCopyFromStdinSql(metadata));
+    }
+
+    public String getUpdateByIdSql(EntityMetadata<?> metadata) {
+        return getOrBuild(new StatementKey(metadata.getEntityType(), StatementType.UPDATE_BY_ID, null),
+            () -> SqlUtils.buildUpdateByIdSql(metadata));
+    }
+
+    public String getDeleteByIdSql(EntityMetadata<?> metadata) {
+        return getOrBuild(new StatementKey(metadata.getEntityType(), StatementType.DELETE_BY_ID, null),
+            () -> SqlUtils.buildDeleteByIdSql(metadata));
+    }
+
+    public String getDeleteByIdsSql(EntityMetadata<?> metadata, int ids) {
+        return getOrBuild(new StatementKey(metadata.getEntityType(), StatementType.DELETE_BY_IDS, ids),
+            () -> SqlUtils.buildDeleteByIdsSql(metadata, ids));
+    }
+
+    public String getDeleteByIdArraySql(EntityMetadata<?> metadata) {
+        return getOrBuild(new StatementKey(metadata.getEntityType(), StatementType.DELETE_BY_ID_ARRAY, null),
+            () -> SqlUtils.buildDeleteByIdArraySql(metadata));
+    }
+
+    public String getSelectAllSql(EntityMetadata<?> metadata) {
+        return getOrBuild(new StatementKey(metadata.getEntityType(), StatementType.SELECT_ALL, null),
+            () -> SqlUtils.buildSelectAllSql(metadata));
+    }
+
+    public String getSelectByColumnSql(EntityMetadata<?> metadata, AttributeMetadata attribute) {
+        return getOrBuild(new StatementKey(metadata.getEntityType(), StatementType.SELECT_BY_COLUMN, attribute.getName()),
+            () -> SqlUtils.buildSelectByColumnSql(metadata, attribute));
+    }
+
+    public String getSelectByColumnInSql(EntityMetadata<?> metadata, AttributeMetadata attribute, int values) {
+        return getOrBuild(new StatementKey(metadata.getEntityType(), StatementType.SELECT_BY_COLUMN_IN,
+                List.of(attribute.getName(), values)),
+            () -> SqlUtils.buildSelectByColumnInSql(metadata, attribute, values));
+    }
+
+    public String getSelectByColumnArraySql(EntityMetadata<?> metadata, AttributeMetadata attribute) {
+        return getOrBuild(new StatementKey(metadata.getEntityType(), StatementType.SELECT_BY_COLUMN_ARRAY,
+                attribute.getName()),
+            () -> SqlUtils.buildSelectByColumnArraySql(metadata, attribute));
+    }
+
+    public String getSelectWithJoinsSql(EntityMetadata<?> metadata, AttributeMetadata attribute,
+                                        List<AttributeMetadata> joins, List<EntityMetadata<?>> joinedMetadata) {
+        var joinNames = joins.stream().map(AttributeMetadata::getName).toList();
+        return getOrBuild(new StatementKey(metadata.getEntityType(), StatementType.SELECT_WITH_JOINS,
+                List.of(attribute.getName(), joinNames)),
+            () -> SqlUtils.buildSelectWithJoinsSql(metadata, attribute, joins, joinedMetadata));
+    }
+
+    public String getSelectPageSql(EntityMetadata<?> metadata, AttributeMetadata attribute, boolean afterId,
+                                   String limitClause) {
+        return getOrBuild(new StatementKey(metadata.getEntityType(), StatementType.SELECT_PAGE,
+                List.of(attribute == null ? "" : attribute.getName(), afterId, limitClause)),
+            () -> SqlUtils.buildSelectPageSql(metadata, attribute, afterId, limitClause));
+    }
+
+    /**
+     * Returns the SQL of the criteria query, that is built once per shape of the recently used queries
+     */
+    public <T> String getCriteriaSql(EntityMetadata<T> metadata, Criteria<T> criteria, Dialect dialect) {
+        return getOrBuild(queryStatements,
+            new StatementKey(metadata.getEntityType(), StatementType.CRITERIA, criteria.getShape()),
+            () -> criteria.toSql(metadata, dialect));
+    }
+
+    /**
+     * Returns the SQL of the criteria query selecting the columns of the projection
+     */
+    public <T> String getProjectionSql(EntityMetadata<T> metadata, Criteria<T> criteria, Projection<?> projection,
+                                       Dialect dialect) {
+        return getOrBuild(queryStatements, new StatementKey(metadata.getEntityType(), StatementType.PROJECTION,
+                List.of(projection.getType(), criteria.getShape())),
+            () -> criteria.toSql(metadata, dialect, projection.getSelectList()));
+    }
+
+    /**
+     * Builds the insert, update, delete and select by id statements of the entities upfront,
+     * so the first sessions do not pay for SQL generation.
+     */
+    public void warmUp(Collection<EntityMetadata<?>> metadata) {
+        metadata.forEach(entityMetadata -> {
+            getInsertSql(entityMetadata);
+            getUpdateByIdSql(entityMetadata);
+            getDeleteByIdSql(entityMetadata);
+            getSelectByColumnSql(entityMetadata, entityMetadata.getIdAttribute());
+        });
+    }
+
+    /**
+     * Returns a cached statement or builds and caches it on the first access.
+     *
+     * @param key statement identity
+     * @param sqlBuilder builds the statement on a cache miss
+     * @return SQL statement
+     */
+    public String getOrBuild(StatementKey key, Supplier<String> sqlBuilder) {
+        return getOrBuild(statements, key, sqlBuilder);
+    }
+
+    private String getOrBuild(Map<StatementKey, String> cache, StatementKey key, Supplier<String> sqlBuilder) {
+        var sql = cache.get(key);
+        if (sql != null) {
+            hits.increment();
+            return sql;
+        }
+        misses.increment();
+        return cache.computeIfAbsent(key, k -> {
+            var builtSql = sqlBuilder.get();
+            log.debug("Cached {} statement for {}: {}", k.type(), k.entityType().getSimpleName(), builtSql);
+            return builtSql;
+        });
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public int size() {
+        return statements.size() + queryStatements.size();
+    }
+
+    /**
+     * Identifies a generated statement
+     *
+     * @param entityType entity the statement is generated for
+     * @param type kind of the statement
+     * @param qualifier additional part of the statement identity (e.g. column name), may be null
+     */
+    public record StatementKey(Class<?> entityType, StatementType type, Object qualifier) {
+    }
+}
@@ -0,0 +1,9 @@
+package org.hoverla.bibernate.sql;
+
+/**
+ * Kinds of SQL statements generated for an entity
+ */
+public enum StatementType {
+    INSERT, MULTI_ROW_INSERT, COPY_FROM_STDIN, UPDATE_BY_ID, DELETE_BY_ID, DELETE_BY_IDS, DELETE_BY_ID_ARRAY,
+    SELECT_ALL, SELECT_BY_COLUMN, SELECT_BY_COLUMN_IN, SELECT_BY_COLUMN_ARRAY, SELECT_PAGE, SELECT_WITH_JOINS, CRITERIA, PROJECTION
+}
@@ -15,4 +15,33 @@ public record EntityKey<T>(Object id, Class<T> type) {
         var type = (Class<T>) entity.getClass();
         return new EntityKey<>(id, type);
     }
+
+    /**
+     * Creates a key of an entity whose id is not known yet, e.g. it is generated by the database on insert.
+     * Such keys are equal only for the same entity instance.
+     */
+    public static <T> EntityKey<T> ofTransient(Object entity, Class<T> type) {
+        return new EntityKey<>(new TransientId(entity), type);
+    }
+
+    public boolean isTransient() {
+        return id instanceof TransientId;
+    }
+
+    private record TransientId(Object entity) {
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof TransientId other && entity == other.entity;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(entity);
+        }
+
+        @Override
+        public String toString() {
+            return "transient@" + Integer.toHexString(hashCode());
+        }
+    }
 }
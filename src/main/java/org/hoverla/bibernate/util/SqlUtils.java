@@ -1,8 +1,14 @@
 package org.hoverla.bibernate.util;
 
 import lombok.experimental.UtilityClass;
+import org.hoverla.bibernate.metadata.AttributeMetadata;
+import org.hoverla.bibernate.metadata.EntityMetadata;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.StringJoiner;
 import java.util.stream.Collectors;
 
 import static org.hoverla.bibernate.util.EntityUtils.getFieldsForInsert;
@@ -14,9 +20,18 @@ import static org.hoverla.bibernate.util.EntityUtils.getFieldsForUpdate;
 @UtilityClass
 public class SqlUtils {
     public static final String INSERT_TEMPLATE = "INSERT INTO %s(%s) VALUES(%s);";
+    public static final String SELECT_ALL_TEMPLATE = "SELECT * FROM %s;";
     public static final String SELECT_BY_COLUMN_TEMPLATE = "SELECT * FROM %s WHERE %s = ?;";
+    public static final String SELECT_BY_COLUMN_IN_TEMPLATE = "SELECT * FROM %s WHERE %s IN (%s);";
+    public static final String SELECT_BY_COLUMN_ANY_TEMPLATE = "SELECT * FROM %s WHERE %s = ANY(?);";
+    public static final String SELECT_PAGE_TEMPLATE = "SELECT * FROM %s%s ORDER BY %s%s;";
+    public static final String SELECT_WITH_JOINS_TEMPLATE = "SELECT %s FROM %s %s%s WHERE %s.%s = ?;";
+    public static final String LEFT_JOIN_TEMPLATE = " LEFT JOIN %s %s ON %s.%s = %s.%s";
     public static final String DELETE_BY_COLUMN_TEMPLATE = "DELETE FROM %s WHERE %s = ?;";
     public static final String UPDATE_TEMPLATE = "UPDATE %s SET %s WHERE %s;";
+    public static final String DELETE_BY_COLUMN_IN_TEMPLATE = "DELETE FROM %s WHERE %s IN (%s);";
+    public static final String DELETE_BY_COLUMN_ANY_TEMPLATE = "DELETE FROM %s WHERE %s = ANY(?);";
+    public static final String COPY_FROM_STDIN_TEMPLATE = "COPY %s(%s) FROM STDIN WITH (FORMAT csv)";
 
 
     public static String getCommaSeparatedInsertableColumns(Class<?> entityType) {
@@ -41,4 +56,171 @@ public class SqlUtils {
             .map(f -> "?")
             .collect(Collectors.joining(","));
     }
+
+    public static String getCommaSeparatedInsertableColumns(EntityMetadata<?> metadata) {
+        return metadata.getInsertableAttributes().stream()
+            .map(AttributeMetadata::getColumnName)
+            .collect(Collectors.joining(", "));
+    }
+
+    public static String getCommaSeparatedUpdatableColumns(EntityMetadata<?> metadata) {
+        return metadata.getUpdatableAttributes().stream()
+            .map(attribute -> attribute.getColumnName() + " = ?")
+            .collect(Collectors.joining(", "));
+    }
+
+    public static String getCommaSeparatedInsertableParams(EntityMetadata<?> metadata) {
+        return metadata.getInsertableAttributes().stream()
+            .map(attribute -> "?")
+            .collect(Collectors.joining(","));
+    }
+
+    public static String buildInsertSql(EntityMetadata<?> metadata) {
+        return INSERT_TEMPLATE.formatted(metadata.getTableName(),
+            getCommaSeparatedInsertableColumns(metadata), getCommaSeparatedInsertableParams(metadata));
+    }
+
+    /**
+     * Builds {@code INSERT INTO t(cols) VALUES(?,?),(?,?),...} inserting the given number of rows
+     */
+    public static String buildMultiRowInsertSql(EntityMetadata<?> metadata, int rows) {
+        var rowParams = getCommaSeparatedInsertableParams(metadata);
+        return INSERT_TEMPLATE.formatted(metadata.getTableName(), getCommaSeparatedInsertableColumns(metadata),
+            String.join("),(", Collections.nCopies(rows, rowParams)));
+    }
+
+    /**
+     * Builds {@code COPY t(cols) FROM STDIN} reading rows of the insertable columns in CSV format
+     */
+    public static String buildCopyFromStdinSql(EntityMetadata<?> metadata) {
+        return COPY_FROM_STDIN_TEMPLATE.formatted(metadata.getTableName(), getCommaSeparatedInsertableColumns(metadata));
+    }
+
+    public static String buildUpdateByIdSql(EntityMetadata<?> metadata) {
+        var idCondition = metadata.getIdAttribute().getColumnName() + " = ? ";
+        return UPDATE_TEMPLATE.formatted(metadata.getTableName(),
+            getCommaSeparatedUpdatableColumns(metadata), idCondition);
+    }
+
+    public static String buildDeleteByIdSql(EntityMetadata<?> metadata) {
+        return DELETE_BY_COLUMN_TEMPLATE.formatted(metadata.getTableName(), metadata.getIdAttribute().getColumnName());
+    }
+
+    /**
+     * Builds {@code DELETE FROM t WHERE id IN (?,?,...)} with the given number of parameters
+     */
+    public static String buildDeleteByIdsSql(EntityMetadata<?> metadata, int ids) {
+        return DELETE_BY_COLUMN_IN_TEMPLATE.formatted(metadata.getTableName(),
+            metadata.getIdAttribute().getColumnName(), String.join(",", Collections.nCopies(ids, "?")));
+    }
+
+    /**
+     * Builds {@code DELETE FROM t WHERE id = ANY(?)} binding all the ids as one array parameter
+     */
+    public static String buildDeleteByIdArraySql(EntityMetadata<?> metadata) {
+        return DELETE_BY_COLUMN_ANY_TEMPLATE.formatted(metadata.getTableName(),
+            metadata.getIdAttribute().getColumnName());
+    }
+
+    public static String buildSelectAllSql(EntityMetadata<?> metadata) {
+        return SELECT_ALL_TEMPLATE.formatted(metadata.getTableName());
+    }
+
+    public static String buildSelectByColumnSql(EntityMetadata<?> metadata, AttributeMetadata attribute) {
+        return SELECT_BY_COLUMN_TEMPLATE.formatted(metadata.getTableName(), attribute.getColumnName());
+    }
+
+    /**
+     * Builds {@code SELECT * FROM t WHERE column = ? AND id > ? ORDER BY id} followed by the limit clause
+     * of the dialect. Parameters are bound in this order: column value, last id of the previous page,
+     * then the parameters of the limit clause.
+     *
+     * @param metadata metadata of the selected entity
+     * @param attribute attribute of the where condition, {@code null} to page through all the rows
+     * @param afterId whether only the rows after the last id of the previous page are selected (keyset paging)
+     * @param limitClause limit or limit with offset clause of the dialect
+     */
+    public static String buildSelectPageSql(EntityMetadata<?> metadata, AttributeMetadata attribute,
+                                            boolean afterId, String limitClause) {
+        var idColumn = metadata.getIdAttribute().getColumnName();
+        var conditions = new StringJoiner(" AND ", " WHERE ", "").setEmptyValue("");
+        if (attribute != null) {
+            conditions.add(attribute.getColumnName() + " = ?");
+        }
+        if (afterId) {
+            conditions.add(idColumn + " > ?");
+        }
+        return SELECT_PAGE_TEMPLATE.formatted(metadata.getTableName(), conditions, idColumn, limitClause);
+    }
+
+    /**
+     * Builds {@code SELECT t0.a AS t0_a, ..., t1.b AS t1_b, ... FROM t t0 LEFT JOIN r t1 ON ... WHERE t0.column = ?}
+     * fetching the given associations of the entity in the same statement. The table of the entity gets alias
+     * {@code t0}, the joined tables {@code t1..tn} in the order of the associations.
+     * Columns are labeled with the alias of their table as a prefix, see {@link #getColumnPrefix(int)}.
+     *
+     * @param metadata metadata of the selected entity
+     * @param attribute attribute of the where condition
+     * @param joins association attributes of the entity
+     * @param joinedMetadata metadata of the associated entities aligned with the joins
+     */
+    public static String buildSelectWithJoinsSql(EntityMetadata<?> metadata, AttributeMetadata attribute,
+                                                 List<AttributeMetadata> joins,
+                                                 List<EntityMetadata<?>> joinedMetadata) {
+        var rootAlias = getTableAlias(0);
+        var columns = new StringJoiner(", ");
+        var joinClauses = new StringBuilder();
+        appendAliasedColumns(columns, metadata, 0);
+        for (int i = 0; i < joins.size(); i++) {
+            var join = joins.get(i);
+            var related = joinedMetadata.get(i);
+            var alias = getTableAlias(i + 1);
+            appendAliasedColumns(columns, related, i + 1);
+            if (join.getType().isCollectionAssociation()) {
+                var mappedBy = related.getAttribute(join.getMappedBy());
+                joinClauses.append(LEFT_JOIN_TEMPLATE.formatted(related.getTableName(), alias,
+                    alias, mappedBy.getColumnName(), rootAlias, metadata.getIdAttribute().getColumnName()));
+            } else {
+                joinClauses.append(LEFT_JOIN_TEMPLATE.formatted(related.getTableName(), alias,
+                    alias, related.getIdAttribute().getColumnName(), rootAlias, join.getColumnName()));
+            }
+        }
+        return SELECT_WITH_JOINS_TEMPLATE.formatted(columns, metadata.getTableName(), rootAlias, joinClauses,
+            rootAlias, attribute.getColumnName());
+    }
+
+    public static String getTableAlias(int tableIndex) {
+        return "t" + tableIndex;
+    }
+
+    /**
+     * Returns the prefix of the column labels of the table with the given index in a join query
+     */
+    public static String getColumnPrefix(int tableIndex) {
+        return getTableAlias(tableIndex) + "_";
+    }
+
+    private static void appendAliasedColumns(StringJoiner columns, EntityMetadata<?> metadata, int tableIndex) {
+        var alias = getTableAlias(tableIndex);
+        var prefix = getColumnPrefix(tableIndex);
+        metadata.getAttributes().stream()
+            .map(AttributeMetadata::getColumnName)
+            .filter(Objects::nonNull)
+            .forEach(column -> columns.add("%s.%s AS %s%s".formatted(alias, column, prefix, column)));
+    }
+
+    /**
+     * Builds {@code SELECT * FROM t WHERE column IN (?,?,...)} with the given number of parameters
+     */
+    public static String buildSelectByColumnInSql(EntityMetadata<?> metadata, AttributeMetadata attribute, int values) {
+        return SELECT_BY_COLUMN_IN_TEMPLATE.formatted(metadata.getTableName(),
+            attribute.getColumnName(), String.join(",", Collections.nCopies(values, "?")));
+    }
+
+    /**
+     * Builds {@code SELECT * FROM t WHERE column = ANY(?)} binding all the values as one array parameter
+     */
+    public static String buildSelectByColumnArraySql(EntityMetadata<?> metadata, AttributeMetadata attribute) {
+        return SELECT_BY_COLUMN_ANY_TEMPLATE.formatted(metadata.getTableName(), attribute.getColumnName());
+    }
 }
@@ -0,0 +1,167 @@
+package org.hoverla.bibernate.action;
+
+import org.hoverla.bibernate.demo.Customer;
+import org.hoverla.bibernate.demo.Project;
+import org.hoverla.bibernate.fixtures.Book;
+import org.hoverla.bibernate.fixtures.Person;
+import org.hoverla.bibernate.metadata.MetadataRegistry;
+import org.hoverla.bibernate.session.EntityPersister;
+import org.hoverla.bibernate.util.EntityKey;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+class ActionQueueTest {
+    private EntityPersister persister;
+    private ActionQueue actionQueue;
+
+    @BeforeEach
+    void setUp() {
+        persister = mock(EntityPersister.class);
+        actionQueue = new ActionQueue();
+    }
+
+    @Test
+    void testConsecutiveActionsOfSameTypeAreBatched() {
+        var john = new Person(1, "John", 30);
+        var jane = new Person(2, "Jane", 25);
+        var book = new Book(1, "Dune");
+        actionQueue.add(new EntityDeleteAction(book, persister));
+        actionQueue.add(new EntityInsertAction(john, persister));
+        actionQueue.add(new EntityUpdateAction(john, persister));
+        actionQueue.add(new EntityInsertAction(jane, persister));
+        actionQueue.add(new EntityInsertAction(book, persister));
+
+        actionQueue.executeAll();
+
+        InOrder inOrder = inOrder(persister);
+        inOrder.verify(persister).insertAll(List.of(john, jane));
+        inOrder.verify(persister).insert(book);
+        inOrder.verify(persister).update(john);
+        inOrder.verify(persister).delete(book);
+        inOrder.verifyNoMoreInteractions();
+        Assertions.assertTrue(actionQueue.isEmpty());
+    }
+
+    @Test
+    void testActionsOfSamePriorityKeepInsertionOrder() {
+        var people = List.of(new Person(3, "C", 1), new Person(1, "A", 1), new Person(2, "B", 1));
+        people.forEach(person -> actionQueue.add(new EntityUpdateAction(person, persister)));
+
+        actionQueue.executeAll();
+
+        inOrder(persister).verify(persister).updateAll(people);
+    }
+
+    @Test
+    void testInsertAndUpdatesAreCoalescedIntoInsertOfFinalState() {
+        var john = new Person(1, "John", 30);
+        var mergedJohn = new Person(1, "John", 31);
+        actionQueue.add(new EntityInsertAction(john, persister));
+        actionQueue.add(new EntityUpdateAction(john, persister));
+        actionQueue.add(new EntityUpdateAction(mergedJohn, persister));
+
+        actionQueue.coalesce(EntityKey::valueOf);
+        actionQueue.executeAll();
+
+        verify(persister).insert(same(mergedJohn));
+        verifyNoMoreInteractions(persister);
+    }
+
+    @Test
+    void testInsertFollowedByDeleteIsDropped() {
+        var john = new Person(1, "John", 30);
+        actionQueue.add(new EntityInsertAction(john, persister));
+        actionQueue.add(new EntityUpdateAction(john, persister));
+        actionQueue.add(new EntityDeleteAction(john, persister));
+        actionQueue.add(new EntityUpdateAction(john, persister));
+
+        actionQueue.coalesce(EntityKey::valueOf);
+
+        Assertions.assertTrue(actionQueue.isEmpty());
+    }
+
+    @Test
+    void testActionsFollowingDeleteAreDropped() {
+        var john = new Person(1, "John", 30);
+        actionQueue.add(new EntityDeleteAction(john, persister));
+        actionQueue.add(new EntityUpdateAction(john, persister));
+        actionQueue.add(new EntityDeleteAction(john, persister));
+
+        actionQueue.coalesce(EntityKey::valueOf);
+        actionQueue.executeAll();
+
+        verify(persister).delete(john);
+        verifyNoMoreInteractions(persister);
+    }
+
+    @Test
+    void testRepeatedUpdatesAreCoalesced() {
+        var john = new Person(1, "John", 30);
+        var jane = new Person(2, "Jane", 25);
+        actionQueue.add(new EntityUpdateAction(john, persister));
+        actionQueue.add(new EntityUpdateAction(jane, persister));
+        actionQueue.add(new EntityUpdateAction(john, persister));
+        actionQueue.add(new EntityUpdateAction(jane, persister));
+        actionQueue.add(new EntityDeleteAction(jane, persister));
+
+        actionQueue.coalesce(EntityKey::valueOf);
+        actionQueue.executeAll();
+
+        InOrder inOrder = inOrder(persister);
+        inOrder.verify(persister).update(john);
+        inOrder.verify(persister).delete(jane);
+        inOrder.verifyNoMoreInteractions();
+    }
+
+    @Test
+    void testFlushOrderFollowsForeignKeys() {
+        var metadataRegistry = new MetadataRegistry();
+        actionQueue = new ActionQueue(metadataRegistry::getDependencyLevel);
+        var customer = new Customer();
+        customer.setId(1);
+        var otherCustomer = new Customer();
+        otherCustomer.setId(2);
+        var project = new Project();
+        var otherProject = new Project();
+        actionQueue.add(new EntityDeleteAction(customer, persister));
+        actionQueue.add(new EntityDeleteAction(project, persister));
+        actionQueue.add(new EntityInsertAction(otherProject, persister));
+        actionQueue.add(new EntityInsertAction(otherCustomer, persister));
+
+        actionQueue.executeAll();
+
+        InOrder inOrder = inOrder(persister);
+        inOrder.verify(persister).insert(otherCustomer);
+        inOrder.verify(persister).insert(otherProject);
+        inOrder.verify(persister).delete(project);
+        inOrder.verify(persister).delete(customer);
+        inOrder.verifyNoMoreInteractions();
+    }
+
+    @Test
+    void testInterleavedInsertsAreGroupedByType() {
+        actionQueue = new ActionQueue(new MetadataRegistry()::getDependencyLevel);
+        var john = new Person(1, "John", 30);
+        var book = new Book(1, "Dune");
+        var jane = new Person(2, "Jane", 25);
+        var otherBook = new Book(2, "Emma");
+        List.of(john, book, jane, otherBook).forEach(entity -> actionQueue.add(new EntityInsertAction(entity, persister)));
+
+        actionQueue.executeAll();
+
+        InOrder inOrder = inOrder(persister);
+        inOrder.verify(persister).insertAll(List.of(john, jane));
+        inOrder.verify(persister).insertAll(List.of(book, otherBook));
+        inOrder.verifyNoMoreInteractions();
+    }
+}
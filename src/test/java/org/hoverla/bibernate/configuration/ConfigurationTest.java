@@ -22,4 +22,11 @@ class ConfigurationTest {
         String actualUrl = configuration.getUrl();
         assertEquals(EXPECTED_PROPS_JDBC_URL, actualUrl);
     }
+
+    @Test
+    void testJdbcBatchSizeDefaultsWhenNotSet() {
+        Configuration configuration = new PropertiesConfiguration(PROPERTIES_FILE);
+        assertEquals(Configuration.DEFAULT_JDBC_BATCH_SIZE, configuration.getJdbcBatchSize());
+        assertEquals(Configuration.DEFAULT_JDBC_BATCH_SIZE, DefaultConfiguration.builder().build().getJdbcBatchSize());
+    }
 }
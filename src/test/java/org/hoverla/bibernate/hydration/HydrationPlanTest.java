@@ -0,0 +1,85 @@
+package org.hoverla.bibernate.hydration;
+
+import org.hoverla.bibernate.exception.session.jdbc.ColumnNotFoundException;
+import org.hoverla.bibernate.fixtures.Person;
+import org.hoverla.bibernate.metadata.EntityMetadata;
+import org.hoverla.bibernate.metadata.MetadataRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+import static org.mockito.Mockito.*;
+
+class HydrationPlanTest {
+
+    private EntityMetadata<Person> metadata;
+
+    @BeforeEach
+    void setUp() {
+        metadata = new MetadataRegistry().getMetadata(Person.class);
+    }
+
+    @Test
+    void testValuesAreReadByResolvedIndex() throws SQLException {
+        var resultSet = mockResultSet("AGE", "ID", "NAME");
+        var plan = HydrationPlan.of(metadata, resultSet.getMetaData());
+
+        plan.readValue(resultSet, 0);
+        plan.readValue(resultSet, 1);
+        plan.readValue(resultSet, 2);
+
+        verify(resultSet).getInt(2);
+        verify(resultSet).getString(3);
+        verify(resultSet).getInt(1);
+        verify(resultSet, never()).getObject(anyString());
+    }
+
+    @Test
+    void testMissingColumn() throws SQLException {
+        var resultSet = mockResultSet("id", "name");
+
+        Assertions.assertThrows(ColumnNotFoundException.class, () -> HydrationPlan.of(metadata, resultSet.getMetaData()));
+    }
+
+    @Test
+    void testPlanIsResolvedOncePerQuery() throws SQLException {
+        var cache = new HydrationPlanCache();
+        var resultSet = mockResultSet("id", "name", "age");
+
+        var plan = cache.getPlan("SELECT * FROM person WHERE id = ?;", metadata, resultSet);
+        var cachedPlan = cache.getPlan("SELECT * FROM person WHERE id = ?;", metadata, resultSet);
+
+        Assertions.assertSame(plan, cachedPlan);
+        verify(resultSet, times(1)).getMetaData();
+    }
+
+    @Test
+    void testNativePlansAreBounded() throws SQLException {
+        var cache = new HydrationPlanCache(2);
+        var resultSet = mockResultSet("id", "name", "age");
+
+        var first = cache.getNativePlan("SELECT * FROM person WHERE id = 1", metadata, resultSet);
+        cache.getNativePlan("SELECT * FROM person WHERE id = 2", metadata, resultSet);
+        Assertions.assertSame(first, cache.getNativePlan("SELECT * FROM person WHERE id = 1", metadata, resultSet));
+        cache.getNativePlan("SELECT * FROM person WHERE id = 3", metadata, resultSet);
+
+        Assertions.assertEquals(2, cache.size());
+        Assertions.assertSame(first, cache.getNativePlan("SELECT * FROM person WHERE id = 1", metadata, resultSet));
+        Assertions.assertEquals(2, cache.size());
+    }
+
+    private ResultSet mockResultSet(String... labels) throws SQLException {
+        var resultSet = mock(ResultSet.class);
+        var metaData = mock(ResultSetMetaData.class);
+        when(resultSet.getMetaData()).thenReturn(metaData);
+        when(metaData.getColumnCount()).thenReturn(labels.length);
+        for (int i = 0; i < labels.length; i++) {
+            when(metaData.getColumnLabel(i + 1)).thenReturn(labels[i]);
+        }
+        return resultSet;
+    }
+}
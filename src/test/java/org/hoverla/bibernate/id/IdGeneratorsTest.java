@@ -0,0 +1,52 @@
+package org.hoverla.bibernate.id;
+
+import org.hoverla.bibernate.annotation.Entity;
+import org.hoverla.bibernate.annotation.GeneratedValue;
+import org.hoverla.bibernate.annotation.GenerationType;
+import org.hoverla.bibernate.annotation.Id;
+import org.hoverla.bibernate.annotation.Table;
+import org.hoverla.bibernate.exception.metadata.EntityMappingException;
+import org.hoverla.bibernate.metadata.MetadataRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class IdGeneratorsTest {
+    private final MetadataRegistry metadataRegistry = new MetadataRegistry();
+
+    @Test
+    void testDefaultSequenceMatchesSerialColumn() {
+        var idGeneration = metadataRegistry.getMetadata(Invoice.class).getIdGeneration();
+
+        Assertions.assertEquals("invoice_id_seq", idGeneration.sequenceName());
+        Assertions.assertEquals(1, idGeneration.allocationSize());
+    }
+
+    @Test
+    void testSequenceSharedWithAnotherAllocationSizeIsRejected() {
+        var idGenerators = new IdGenerators();
+        var invoiceGeneration = metadataRegistry.getMetadata(Invoice.class).getIdGeneration();
+        var receiptGeneration = metadataRegistry.getMetadata(Receipt.class).getIdGeneration();
+
+        var generator = idGenerators.getSequenceGenerator(Invoice.class, invoiceGeneration);
+
+        Assertions.assertSame(generator, idGenerators.getSequenceGenerator(Invoice.class, invoiceGeneration));
+        Assertions.assertThrows(EntityMappingException.class,
+            () -> idGenerators.getSequenceGenerator(Receipt.class, receiptGeneration));
+    }
+
+    @Entity
+    @Table(name = "invoice")
+    static class Invoice {
+        @Id
+        @GeneratedValue(strategy = GenerationType.SEQUENCE)
+        Long id;
+    }
+
+    @Entity
+    @Table(name = "receipt")
+    static class Receipt {
+        @Id
+        @GeneratedValue(strategy = GenerationType.SEQUENCE, sequenceName = "invoice_id_seq", allocationSize = 50)
+        Long id;
+    }
+}
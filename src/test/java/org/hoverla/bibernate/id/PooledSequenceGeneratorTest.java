@@ -0,0 +1,24 @@
+package org.hoverla.bibernate.id;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+class PooledSequenceGeneratorTest {
+
+    @Test
+    void testSequenceIsCalledOncePerBlock() {
+        var sequenceCalls = new AtomicInteger();
+        LongSupplier sequence = () -> sequenceCalls.incrementAndGet() == 1 ? 1 : 4;
+        var generator = new PooledSequenceGenerator("person_id_seq", 3);
+
+        Assertions.assertEquals(1, generator.next(sequence));
+        Assertions.assertEquals(2, generator.next(sequence));
+        Assertions.assertEquals(3, generator.next(sequence));
+        Assertions.assertEquals(1, sequenceCalls.get());
+        Assertions.assertEquals(4, generator.next(sequence));
+        Assertions.assertEquals(2, sequenceCalls.get());
+    }
+}
@@ -0,0 +1,93 @@
+package org.hoverla.bibernate.metadata;
+
+import org.hoverla.bibernate.demo.Customer;
+import org.hoverla.bibernate.demo.Project;
+import org.hoverla.bibernate.exception.session.FieldNotFoundException;
+import org.hoverla.bibernate.fixtures.Person;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+class EntityMetadataTest {
+
+    private final MetadataRegistry metadataRegistry = new MetadataRegistry();
+
+    @Test
+    void testTableAndIdAttribute() {
+        var metadata = metadataRegistry.getMetadata(Person.class);
+
+        Assertions.assertEquals("person", metadata.getTableName());
+        Assertions.assertEquals("id", metadata.getIdAttribute().getColumnName());
+        Assertions.assertEquals(AttributeType.ID, metadata.getIdAttribute().getType());
+    }
+
+    @Test
+    void testColumnAttributesAreOrdered() {
+        var metadata = metadataRegistry.getMetadata(Person.class);
+
+        Assertions.assertEquals(List.of("name", "age"), columnNames(metadata.getInsertableAttributes()));
+        Assertions.assertEquals(List.of("name", "age"), columnNames(metadata.getUpdatableAttributes()));
+    }
+
+    @Test
+    void testDependencyLevels() {
+        Assertions.assertEquals(0, metadataRegistry.getDependencyLevel(Customer.class));
+        Assertions.assertEquals(1, metadataRegistry.getDependencyLevel(Project.class));
+        Assertions.assertEquals(0, metadataRegistry.getDependencyLevel(Person.class));
+    }
+
+    @Test
+    void testRelationAttributes() {
+        var customerMetadata = metadataRegistry.getMetadata(Customer.class);
+        var projectMetadata = metadataRegistry.getMetadata(Project.class);
+
+        var projects = customerMetadata.getCollectionAssociations().get(0);
+        Assertions.assertEquals(AttributeType.ONE_TO_MANY, projects.getType());
+        Assertions.assertEquals(Project.class, projects.getTargetEntityType());
+        Assertions.assertEquals("customer", projects.getMappedBy());
+
+        var customer = projectMetadata.getSingleAssociations().get(0);
+        Assertions.assertEquals(AttributeType.MANY_TO_ONE, customer.getType());
+        Assertions.assertEquals("customer_id", customer.getColumnName());
+    }
+
+    @Test
+    void testMetadataIsBuiltOnce() {
+        Assertions.assertSame(metadataRegistry.getMetadata(Person.class), metadataRegistry.getMetadata(Person.class));
+    }
+
+    @Test
+    void testIdAndSnapshot() {
+        var metadata = metadataRegistry.getMetadata(Person.class);
+        var person = new Person(1, "John", 30);
+
+        Assertions.assertEquals(1, metadata.getId(person));
+        Assertions.assertArrayEquals(new Object[]{1, "John", 30}, metadata.createSnapshot(person));
+    }
+
+    @Test
+    void testNewInstanceAndSetAttributes() {
+        var metadata = metadataRegistry.getMetadata(Person.class);
+
+        var person = metadata.newInstance();
+        metadata.getIdAttribute().set(person, 2);
+        metadata.getAttribute("name").set(person, "Jane");
+        metadata.getAttribute("age").set(person, 25);
+
+        Assertions.assertEquals(new Person(2, "Jane", 25), person);
+        Assertions.assertEquals("Jane", metadata.getAttribute("name").get(person));
+    }
+
+    @Test
+    void testGetAttributeNotFound() {
+        var metadata = metadataRegistry.getMetadata(Person.class);
+
+        Assertions.assertEquals("name", metadata.getAttribute("NAME").getName());
+        Assertions.assertThrows(FieldNotFoundException.class, () -> metadata.getAttribute("trash"));
+    }
+
+    private List<String> columnNames(List<AttributeMetadata> attributes) {
+        return attributes.stream().map(AttributeMetadata::getColumnName).toList();
+    }
+}
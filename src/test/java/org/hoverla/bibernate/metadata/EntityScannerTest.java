@@ -0,0 +1,60 @@
+package org.hoverla.bibernate.metadata;
+
+import org.hoverla.bibernate.annotation.Entity;
+import org.hoverla.bibernate.annotation.Id;
+import org.hoverla.bibernate.annotation.ManyToOne;
+import org.hoverla.bibernate.demo.Customer;
+import org.hoverla.bibernate.demo.Project;
+import org.hoverla.bibernate.exception.metadata.EntityMappingException;
+import org.hoverla.bibernate.fixtures.Book;
+import org.hoverla.bibernate.fixtures.Person;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+class EntityScannerTest {
+
+    private final EntityScanner entityScanner = new EntityScanner(getClass().getClassLoader());
+
+    @Test
+    void testScanFindsEntitiesOfConfiguredPackages() {
+        var entities = entityScanner.scan("org.hoverla.bibernate.fixtures, org.hoverla.bibernate.demo");
+
+        Assertions.assertEquals(Set.of(Person.class, Book.class, Customer.class, Project.class), entities);
+    }
+
+    @Test
+    void testNothingIsScannedWithoutPackages() {
+        Assertions.assertTrue(entityScanner.scan(null).isEmpty());
+        Assertions.assertTrue(entityScanner.scan(" ").isEmpty());
+    }
+
+    @Test
+    void testScannedEntitiesAreRegistered() {
+        var metadataRegistry = new MetadataRegistry();
+
+        metadataRegistry.register(entityScanner.scan("org.hoverla.bibernate.demo"));
+
+        Assertions.assertEquals(2, metadataRegistry.getAllMetadata().size());
+        Assertions.assertEquals("customer", metadataRegistry.getMetadata(Customer.class).getTableName());
+    }
+
+    @Test
+    void testRegistrationFailsFastOnInvalidRelation() {
+        var metadataRegistry = new MetadataRegistry();
+
+        Assertions.assertThrows(EntityMappingException.class,
+            () -> metadataRegistry.register(List.of(Person.class, Order.class)));
+        Assertions.assertTrue(metadataRegistry.getAllMetadata().isEmpty());
+    }
+
+    @Entity
+    static class Order {
+        @Id
+        private Integer id;
+        @ManyToOne
+        private String buyer;
+    }
+}
@@ -0,0 +1,69 @@
+package org.hoverla.bibernate.metadata.type;
+
+import org.hoverla.bibernate.fixtures.Person;
+import org.hoverla.bibernate.metadata.MetadataRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+class ColumnTypesTest {
+
+    private final MetadataRegistry metadataRegistry = new MetadataRegistry();
+
+    @Test
+    void testPrimitiveAttributeIsBoundWithTypedSetter() throws SQLException {
+        var statement = mock(PreparedStatement.class);
+        var age = metadataRegistry.getMetadata(Person.class).getAttribute("age");
+
+        age.bind(statement, 1, new Person(1, "John", 30));
+
+        verify(statement).setInt(1, 30);
+        verify(statement, never()).setObject(anyInt(), any());
+    }
+
+    @Test
+    void testSqlNullIsReadAsDefaultValueOfPrimitive() throws SQLException {
+        var resultSet = mock(ResultSet.class);
+        when(resultSet.getInt(1)).thenReturn(0);
+        when(resultSet.wasNull()).thenReturn(true);
+        var age = metadataRegistry.getMetadata(Person.class).getAttribute("age");
+        var person = new Person(1, "John", 30);
+
+        age.read(resultSet, 1, person);
+
+        Assertions.assertEquals(0, person.getAge());
+    }
+
+    @Test
+    void testBoxedTypesHandleNull() throws SQLException {
+        var statement = mock(PreparedStatement.class);
+        var resultSet = mock(ResultSet.class);
+        when(resultSet.getLong(1)).thenReturn(0L);
+        when(resultSet.wasNull()).thenReturn(true);
+
+        ColumnTypes.resolve(Long.class).bindValue(statement, 1, null);
+
+        verify(statement).setNull(1, Types.BIGINT);
+        Assertions.assertNull(ColumnTypes.resolve(Long.class).readValue(resultSet, 1));
+    }
+
+    @Test
+    void testLocalDateTimeIsReadFromTimestamp() throws SQLException {
+        var resultSet = mock(ResultSet.class);
+        var dateTime = LocalDateTime.of(2022, 1, 1, 10, 30);
+        when(resultSet.getTimestamp(1)).thenReturn(Timestamp.valueOf(dateTime));
+
+        Assertions.assertEquals(dateTime, ColumnTypes.resolve(LocalDateTime.class).readValue(resultSet, 1));
+        Assertions.assertSame(ColumnTypes.OBJECT, ColumnTypes.resolve(Object.class));
+    }
+}
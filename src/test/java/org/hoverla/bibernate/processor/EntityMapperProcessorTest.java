@@ -0,0 +1,132 @@
+package org.hoverla.bibernate.processor;
+
+import org.hoverla.bibernate.metadata.EntityScanner;
+import org.hoverla.bibernate.metadata.MetadataRegistry;
+import org.hoverla.bibernate.metadata.accessor.EntityMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+class EntityMapperProcessorTest {
+
+    private static final String ENTITY_SOURCE = """
+        package sample;
+
+        import org.hoverla.bibernate.annotation.*;
+
+        @Entity
+        @Table(name = "book")
+        public class Book {
+            @Id
+            Integer id;
+            @Column(name = "title")
+            private String title;
+            @Column(name = "pages")
+            int pages;
+            private String notMapped;
+
+            public String getTitle() {
+                return title;
+            }
+
+            public void setTitle(String title) {
+                this.title = title;
+            }
+        }
+        """;
+
+    private static final String INACCESSIBLE_ENTITY_SOURCE = """
+        package sample;
+
+        import org.hoverla.bibernate.annotation.*;
+
+        @Entity
+        public class Note {
+            @Id
+            private Integer id;
+        }
+        """;
+
+    @TempDir
+    Path workDir;
+
+    @Test
+    void testGeneratedMapperIsUsedByMetadata() throws Exception {
+        var classLoader = compile();
+        var bookType = classLoader.loadClass("sample.Book");
+        Assertions.assertTrue(EntityMapper.class.isAssignableFrom(classLoader.loadClass("sample.Book_Mapper")));
+
+        var metadata = new MetadataRegistry().getMetadata(bookType);
+        var book = metadata.newInstance();
+        metadata.getIdAttribute().set(book, 7);
+        metadata.getAttribute("title").set(book, "Dune");
+        metadata.getAttribute("pages").set(book, 412);
+
+        Assertions.assertArrayEquals(new Object[]{7, "Dune", 412}, metadata.createSnapshot(book));
+        Assertions.assertTrue(metadata.getIdAttribute().getAccessor().getClass().getName().startsWith("sample.Book_Mapper"));
+    }
+
+    @Test
+    void testGeneratedMapperOverridesPrimitiveAccessors() throws Exception {
+        var classLoader = compile();
+        var metadata = new MetadataRegistry().getMetadata(classLoader.loadClass("sample.Book"));
+        var book = metadata.newInstance();
+        var pagesAccessor = metadata.getAttribute("pages").getAccessor();
+
+        pagesAccessor.setInt(book, 412);
+
+        Assertions.assertEquals(412, pagesAccessor.getInt(book));
+        Assertions.assertNotNull(pagesAccessor.getClass().getDeclaredMethod("getInt", Object.class));
+        Assertions.assertNotNull(pagesAccessor.getClass().getDeclaredMethod("setInt", Object.class, int.class));
+        Assertions.assertThrows(NoSuchMethodException.class,
+            () -> metadata.getAttribute("title").getAccessor().getClass().getDeclaredMethod("getInt", Object.class));
+    }
+
+    @Test
+    void testMapperIsNotGeneratedForInaccessibleFields() throws Exception {
+        var classLoader = compile();
+
+        Assertions.assertThrows(ClassNotFoundException.class, () -> classLoader.loadClass("sample.Note_Mapper"));
+        var metadata = new MetadataRegistry().getMetadata(classLoader.loadClass("sample.Note"));
+        Assertions.assertNotNull(metadata.newInstance());
+    }
+
+    @Test
+    void testEntityIndexIsWritten() throws Exception {
+        var classLoader = compile();
+
+        var entities = new EntityScanner(classLoader).scan("sample");
+
+        Assertions.assertEquals(Set.of(classLoader.loadClass("sample.Book"), classLoader.loadClass("sample.Note")),
+            entities);
+        Assertions.assertTrue(new EntityScanner(classLoader).scan("other").isEmpty());
+    }
+
+    private URLClassLoader compile() throws IOException {
+        var sourceDir = Files.createDirectories(workDir.resolve("src/sample"));
+        var classesDir = Files.createDirectories(workDir.resolve("classes"));
+        var sources = List.of(
+            Files.writeString(sourceDir.resolve("Book.java"), ENTITY_SOURCE),
+            Files.writeString(sourceDir.resolve("Note.java"), INACCESSIBLE_ENTITY_SOURCE)
+        );
+        var compiler = ToolProvider.getSystemJavaCompiler();
+        try (var fileManager = compiler.getStandardFileManager(null, null, null)) {
+            var options = List.of("-classpath", System.getProperty("java.class.path"),
+                "-processor", EntityMapperProcessor.class.getName(),
+                "-d", classesDir.toString(), "-s", classesDir.toString());
+            var task = compiler.getTask(null, fileManager, null, options, null,
+                fileManager.getJavaFileObjectsFromPaths(sources));
+            Assertions.assertTrue(task.call(), "Compilation with the processor failed");
+        }
+        return new URLClassLoader(new URL[]{classesDir.toUri().toURL()}, getClass().getClassLoader());
+    }
+}
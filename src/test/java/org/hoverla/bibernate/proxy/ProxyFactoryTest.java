@@ -0,0 +1,60 @@
+package org.hoverla.bibernate.proxy;
+
+import org.hoverla.bibernate.fixtures.Person;
+import org.hoverla.bibernate.metadata.MetadataRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProxyFactoryTest {
+    private final MetadataRegistry metadataRegistry = new MetadataRegistry();
+    private final ProxyFactory proxyFactory = new ProxyFactory();
+    private final AtomicInteger loads = new AtomicInteger();
+    private Person proxy;
+
+    @BeforeEach
+    void setUp() {
+        proxy = proxyFactory.createProxy(metadataRegistry.getMetadata(Person.class), 7, () -> {
+            loads.incrementAndGet();
+            return new Person(7, "John", 30);
+        });
+    }
+
+    @Test
+    void testIdIsReadWithoutLoading() {
+        assertEquals(7, proxy.getId());
+        assertEquals(7, metadataRegistry.getMetadataOf(proxy).getId(proxy));
+        assertEquals("Person#7(proxy)", proxy.toString());
+        assertFalse(((EntityProxy) proxy).getBibernateLazyInitializer().isInitialized());
+        assertEquals(0, loads.get());
+    }
+
+    @Test
+    void testEntityIsLoadedOnFirstAccess() {
+        assertEquals("John", proxy.getName());
+        assertEquals(30, proxy.getAge());
+
+        var lazyInitializer = ((EntityProxy) proxy).getBibernateLazyInitializer();
+        assertTrue(lazyInitializer.isInitialized());
+        assertEquals(new Person(7, "John", 30), lazyInitializer.getImplementation());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testProxyClassIsGeneratedOnce() {
+        var otherProxy = proxyFactory.createProxy(metadataRegistry.getMetadata(Person.class), 8, () -> null);
+
+        assertInstanceOf(Person.class, otherProxy);
+        assertNotSame(proxy, otherProxy);
+        assertSame(proxy.getClass(), otherProxy.getClass());
+        assertSame(Person.class, metadataRegistry.getMetadataOf(otherProxy).getEntityType());
+    }
+}
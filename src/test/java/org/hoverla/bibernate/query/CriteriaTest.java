@@ -0,0 +1,82 @@
+package org.hoverla.bibernate.query;
+
+import org.hoverla.bibernate.dialect.GenericDialect;
+import org.hoverla.bibernate.dialect.PostgreSqlDialect;
+import org.hoverla.bibernate.fixtures.Person;
+import org.hoverla.bibernate.metadata.MetadataRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.hoverla.bibernate.query.Restrictions.and;
+import static org.hoverla.bibernate.query.Restrictions.eq;
+import static org.hoverla.bibernate.query.Restrictions.gt;
+import static org.hoverla.bibernate.query.Restrictions.in;
+import static org.hoverla.bibernate.query.Restrictions.like;
+import static org.hoverla.bibernate.query.Restrictions.or;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CriteriaTest {
+    private final MetadataRegistry metadataRegistry = new MetadataRegistry();
+
+    @Test
+    void testToSql() {
+        var metadata = metadataRegistry.getMetadata(Person.class);
+        var criteria = Criteria.forEntity(Person.class)
+            .where(and(gt("age", 18), or(like("name", "J%"), eq("name", "Ann"))))
+            .orderBy(Order.desc("age"), Order.asc("name"))
+            .limit(10);
+
+        assertEquals("SELECT * FROM person WHERE (age > ? AND (name LIKE ? OR name = ?)) "
+            + "ORDER BY age DESC, name ASC LIMIT ?;", criteria.toSql(metadata, new PostgreSqlDialect()));
+        assertEquals(List.of(18, "J%", "Ann"), criteria.getParameters(metadata).stream()
+            .map(QueryParameter::value).toList());
+    }
+
+    @Test
+    void testShapeDoesNotDependOnValues() {
+        var first = Criteria.forEntity(Person.class).where(and(eq("name", "John"), in("age", List.of(1, 2, 3))));
+        var second = Criteria.forEntity(Person.class).where(and(eq("name", "Jane"), in("age", List.of(4, 5, 6, 7))));
+        var third = Criteria.forEntity(Person.class).where(and(eq("name", "Jane"), in("age", List.of(4, 5, 6, 7, 8))));
+
+        assertEquals(first.getShape(), second.getShape());
+        assertNotEquals(second.getShape(), third.getShape());
+    }
+
+    @Test
+    void testShapeIgnoresFieldCase() {
+        var lowerCase = Criteria.forEntity(Person.class).where(eq("name", "John")).orderBy(Order.asc("age"));
+        var mixedCase = Criteria.forEntity(Person.class).where(eq("Name", "Jane")).orderBy(Order.asc("AGE"));
+
+        assertEquals(lowerCase.getShape(), mixedCase.getShape());
+    }
+
+    @Test
+    void testInIsPaddedToPowerOfTwo() {
+        var metadata = metadataRegistry.getMetadata(Person.class);
+        var criteria = Criteria.forEntity(Person.class).where(in("age", List.of(1, 2, 3)));
+
+        assertEquals("SELECT * FROM person WHERE age IN (?,?,?,?);", criteria.toSql(metadata, new GenericDialect()));
+        assertEquals(List.of(1, 2, 3, 3), criteria.getParameters(metadata).stream()
+            .map(QueryParameter::value).toList());
+        assertEquals("SELECT * FROM person WHERE 1 = 0;", Criteria.forEntity(Person.class)
+            .where(in("age", List.of())).toSql(metadata, new GenericDialect()));
+    }
+
+    @Test
+    void testUnknownFieldIsRejected() {
+        var metadata = metadataRegistry.getMetadata(Person.class);
+        var criteria = Criteria.forEntity(Person.class).where(eq("salary", 1));
+
+        assertThrows(RuntimeException.class, () -> criteria.toSql(metadata, new GenericDialect()));
+        assertThrows(IllegalArgumentException.class, () -> Criteria.forEntity(Person.class).limit(0));
+    }
+
+    @Test
+    void testEmptyJunctionIsRejected() {
+        assertThrows(IllegalArgumentException.class, Restrictions::and);
+        assertThrows(IllegalArgumentException.class, Restrictions::or);
+    }
+}
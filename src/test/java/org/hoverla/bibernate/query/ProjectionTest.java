@@ -0,0 +1,76 @@
+package org.hoverla.bibernate.query;
+
+import org.hoverla.bibernate.exception.query.ProjectionMappingException;
+import org.hoverla.bibernate.fixtures.Person;
+import org.hoverla.bibernate.metadata.MetadataRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProjectionTest {
+    private final MetadataRegistry metadataRegistry = new MetadataRegistry();
+
+    @Test
+    void testRecordProjection() throws SQLException {
+        var projection = Projection.of(metadataRegistry.getMetadata(Person.class), PersonAge.class);
+        var resultSet = mock(ResultSet.class);
+        when(resultSet.getString(1)).thenReturn("John");
+        when(resultSet.getInt(2)).thenReturn(30);
+
+        assertEquals("name, age", projection.getSelectList());
+        assertEquals(new PersonAge("John", 30), projection.read(resultSet));
+    }
+
+    @Test
+    void testInterfaceProjection() throws SQLException {
+        var projection = Projection.of(metadataRegistry.getMetadata(Person.class), PersonName.class);
+        var resultSet = mock(ResultSet.class);
+        when(resultSet.getString(1)).thenReturn("John");
+
+        var personName = projection.read(resultSet);
+
+        assertEquals("name", projection.getSelectList());
+        assertEquals("John", personName.getName());
+        assertEquals("JOHN", personName.upperCaseName());
+        assertNotEquals(personName, projection.read(resultSet));
+    }
+
+    @Test
+    void testProjectionIsCachedPerType() {
+        var projectionCache = new ProjectionCache();
+        var metadata = metadataRegistry.getMetadata(Person.class);
+
+        assertSame(projectionCache.getProjection(metadata, PersonAge.class),
+            projectionCache.getProjection(metadata, PersonAge.class));
+    }
+
+    @Test
+    void testInvalidProjectionIsRejected() {
+        var metadata = metadataRegistry.getMetadata(Person.class);
+
+        assertThrows(ProjectionMappingException.class, () -> Projection.of(metadata, String.class));
+        assertThrows(ProjectionMappingException.class, () -> Projection.of(metadata, PersonSalary.class));
+    }
+
+    record PersonAge(String name, int age) {
+    }
+
+    record PersonSalary(String name, long salary) {
+    }
+
+    interface PersonName {
+        String getName();
+
+        default String upperCaseName() {
+            return getName().toUpperCase();
+        }
+    }
+}
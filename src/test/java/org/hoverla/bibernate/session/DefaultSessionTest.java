@@ -16,6 +16,7 @@ import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.util.concurrent.ThreadLocalRandom;
 
@@ -174,26 +175,103 @@ class DefaultSessionTest {
         Assertions.assertEquals(person, defaultSession.find(Person.class, id));
     }
 
+    @Test
+    void testFlushRunsInLocalTransactionOnSingleConnection() throws SQLException {
+        PreparedStatement ps = mock(PreparedStatement.class);
+        when(connection.prepareStatement(anyString())).thenReturn(ps);
+        when(connection.getAutoCommit()).thenReturn(true);
+        defaultSession.persist(new Person(1, "John", 30));
+        defaultSession.persist(new Person(2, "Jane", 25));
+        defaultSession.merge(new Person(1, "John", 31));
+
+        defaultSession.flush();
+
+        verify(dataSource, times(1)).getConnection();
+        verify(connection).setAutoCommit(false);
+        verify(connection).commit();
+        verify(connection).setAutoCommit(true);
+        verify(connection, times(1)).close();
+    }
+
+    @Test
+    void testFlushRollsBackLocalTransactionOnFailure() throws SQLException {
+        when(connection.prepareStatement(anyString())).thenThrow(new SQLException("test"));
+        when(connection.getAutoCommit()).thenReturn(true);
+        defaultSession.persist(new Person(1, "John", 30));
+
+        Assertions.assertThrows(RuntimeException.class, () -> defaultSession.flush());
+
+        verify(connection).rollback();
+        verify(connection, never()).commit();
+        verify(connection).close();
+    }
+
+    @Test
+    void testPersistAndMergeFlushOnlyInsert() throws SQLException {
+        PreparedStatement ps = mock(PreparedStatement.class);
+        when(connection.prepareStatement(anyString())).thenReturn(ps);
+        var person = new Person(1, "John", 30);
+        defaultSession.persist(person);
+        person.setAge(31);
+        defaultSession.merge(person);
+
+        defaultSession.flush();
+
+        verify(connection).prepareStatement("INSERT INTO person(name, age) VALUES(?,?);");
+        verify(connection, never()).prepareStatement("UPDATE person SET name = ?, age = ? WHERE id = ? ;");
+        verify(ps).setInt(2, 31);
+    }
+
+    @Test
+    void testPersistAndRemoveFlushNothing() throws SQLException {
+        var person = new Person(1, "John", 30);
+        defaultSession.persist(person);
+        defaultSession.remove(person);
+
+        defaultSession.flush();
+
+        verify(dataSource, never()).getConnection();
+    }
+
     @Test
     void testClose() {
         defaultSession.close();
         Assertions.assertTrue(defaultSession.isClosed());
     }
-    private <T> ResultSet mockResultSet(T entity) throws SQLException {
-        var resultSet = mock(ResultSet.class);
+
+    @Test
+    void testNativeQueryOfClosedSessionThrows() {
+        var query = defaultSession.createNativeQuery("SELECT * FROM person", Person.class);
+        defaultSession.close();
+        Assertions.assertThrows(IllegalStateException.class, query::getResultList);
+    }
+
+    private ResultSet mockResultSet(Person person) throws SQLException {
+        var resultSet = mockPersonResultSet();
         when(resultSet.next()).thenReturn(true, false);
-        Person person = (Person) entity;
-        when(resultSet.getObject(anyString())).thenReturn(1, person.getName(), person.getAge());
+        when(resultSet.getInt(1)).thenReturn(person.getId());
+        when(resultSet.getString(2)).thenReturn(person.getName());
+        when(resultSet.getInt(3)).thenReturn(person.getAge());
         return resultSet;
     }
 
-    private <T> ResultSet mockResultSet(T entity, T anotherEntity) throws SQLException {
-        var resultSet = mock(ResultSet.class);
+    private ResultSet mockResultSet(Person person, Person nextPerson) throws SQLException {
+        var resultSet = mockPersonResultSet();
         when(resultSet.next()).thenReturn(true, true, false);
-        Person person = (Person) entity;
-        Person nextPerson = (Person) anotherEntity;
-        when(resultSet.getObject(anyString())).thenReturn(1, person.getName(), person.getAge())
-            .thenReturn(2, nextPerson.getName(), nextPerson.getAge());
+        when(resultSet.getInt(1)).thenReturn(person.getId(), nextPerson.getId());
+        when(resultSet.getString(2)).thenReturn(person.getName(), nextPerson.getName());
+        when(resultSet.getInt(3)).thenReturn(person.getAge(), nextPerson.getAge());
+        return resultSet;
+    }
+
+    private ResultSet mockPersonResultSet() throws SQLException {
+        var resultSet = mock(ResultSet.class);
+        var metaData = mock(ResultSetMetaData.class);
+        when(resultSet.getMetaData()).thenReturn(metaData);
+        when(metaData.getColumnCount()).thenReturn(3);
+        when(metaData.getColumnLabel(1)).thenReturn("id");
+        when(metaData.getColumnLabel(2)).thenReturn("name");
+        when(metaData.getColumnLabel(3)).thenReturn("age");
         return resultSet;
     }
 }
\ No newline at end of file
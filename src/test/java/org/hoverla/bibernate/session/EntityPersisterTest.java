@@ -1,20 +1,54 @@
 package org.hoverla.bibernate.session;
 
+import lombok.Getter;
+import org.hoverla.bibernate.annotation.BatchSize;
+import org.hoverla.bibernate.annotation.Column;
+import org.hoverla.bibernate.annotation.Entity;
+import org.hoverla.bibernate.annotation.FetchType;
+import org.hoverla.bibernate.annotation.GeneratedValue;
+import org.hoverla.bibernate.annotation.GenerationType;
+import org.hoverla.bibernate.annotation.Id;
+import org.hoverla.bibernate.annotation.ManyToOne;
+import org.hoverla.bibernate.annotation.OneToMany;
+import org.hoverla.bibernate.annotation.Table;
+import org.hoverla.bibernate.demo.Customer;
+import org.hoverla.bibernate.dialect.Dialect;
 import org.hoverla.bibernate.exception.datasource.JDBCConnectionException;
 import org.hoverla.bibernate.exception.session.jdbc.PrepareStatementFailureException;
 import org.hoverla.bibernate.fixtures.Person;
+import org.hoverla.bibernate.query.Criteria;
+import org.hoverla.bibernate.query.Order;
+import org.hoverla.bibernate.query.Restrictions;
+import org.hoverla.bibernate.session.factory.SessionFactoryContext;
+import org.hoverla.bibernate.util.EntityKey;
+import org.h2.jdbcx.JdbcDataSource;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
 
 import javax.sql.DataSource;
+import java.sql.Array;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.nio.charset.StandardCharsets;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class EntityPersisterTest {
@@ -100,6 +134,486 @@ class EntityPersisterTest {
         assertThrows(JDBCConnectionException.class, () -> entityPersister.delete(entity));
     }
 
+    @Test
+    void testInsertAllSendsJdbcBatches() throws SQLException {
+        var connection = mockConnection();
+        var preparedStatement = connection.prepareStatement("INSERT INTO person(name, age) VALUES(?,?);");
+        when(dataSource.getConnection()).thenReturn(connection);
+        var batchingPersister = new EntityPersister(dataSource, new PersistenceContext(),
+            SessionFactoryContext.builder().jdbcBatchSize(2).build());
+
+        batchingPersister.insertAll(List.of(new Person(1, "John", 30), new Person(2, "Jane", 25),
+            new Person(3, "Jack", 40)));
+
+        verify(connection, times(2)).prepareStatement(anyString());
+        verify(preparedStatement, times(3)).addBatch();
+        verify(preparedStatement, times(2)).executeBatch();
+        verify(preparedStatement, never()).executeUpdate();
+        verify(connection).close();
+    }
+
+    @Test
+    void testInsertAllRewritesIntoMultiRowInserts() throws SQLException {
+        var connection = mock(Connection.class);
+        var multiRowStatement = mock(PreparedStatement.class);
+        var singleRowStatement = mock(PreparedStatement.class);
+        when(connection.prepareStatement("INSERT INTO person(name, age) VALUES(?,?),(?,?);")).thenReturn(multiRowStatement);
+        when(connection.prepareStatement("INSERT INTO person(name, age) VALUES(?,?);")).thenReturn(singleRowStatement);
+        when(dataSource.getConnection()).thenReturn(connection);
+        var persister = new EntityPersister(dataSource, new PersistenceContext(),
+            SessionFactoryContext.builder().multiRowInsertSize(10).maxStatementParameters(4).build());
+
+        persister.insertAll(List.of(new Person(1, "John", 30), new Person(2, "Jane", 25),
+            new Person(3, "Jack", 40), new Person(4, "Jill", 35), new Person(5, "Joe", 20)));
+
+        verify(multiRowStatement, times(2)).addBatch();
+        verify(multiRowStatement).executeBatch();
+        verify(multiRowStatement).setString(3, "Jane");
+        verify(multiRowStatement).setString(3, "Jill");
+        verify(singleRowStatement).setString(1, "Joe");
+        verify(singleRowStatement).executeBatch();
+    }
+
+    @Test
+    void testDeleteAllByIdChunks() throws SQLException {
+        var connection = mockConnection();
+        var deleteStatement = mock(PreparedStatement.class);
+        when(connection.prepareStatement("DELETE FROM person WHERE id IN (?,?,?,?);")).thenReturn(deleteStatement);
+        when(dataSource.getConnection()).thenReturn(connection);
+        var persister = new EntityPersister(dataSource, new PersistenceContext(),
+            SessionFactoryContext.builder().inClauseSize(4).build());
+
+        persister.deleteAll(List.of(new Person(1, "John", 30), new Person(2, "Jane", 25),
+            new Person(3, "Jack", 40), new Person(4, "Jill", 35), new Person(5, "Joe", 20),
+            new Person(6, "Jim", 50), new Person(7, "Joy", 45)));
+
+        verify(deleteStatement).setInt(4, 4);
+        verify(deleteStatement).setInt(3, 7);
+        verify(deleteStatement).setInt(4, 7);
+        verify(deleteStatement, times(2)).executeUpdate();
+        verify(connection).close();
+    }
+
+    @Test
+    void testDeleteAllByIdArrayOnPostgreSql() throws SQLException {
+        var connection = mockConnection();
+        var deleteStatement = mock(PreparedStatement.class);
+        var idArray = mock(Array.class);
+        when(connection.prepareStatement("DELETE FROM person WHERE id = ANY(?);")).thenReturn(deleteStatement);
+        when(connection.createArrayOf("integer", new Object[]{1, 2})).thenReturn(idArray);
+        when(dataSource.getConnection()).thenReturn(connection);
+        var persister = new EntityPersister(dataSource, new PersistenceContext(),
+            SessionFactoryContext.builder().dialect(Dialect.fromUrl("jdbc:postgresql://localhost/test")).build());
+
+        persister.deleteAll(List.of(new Person(1, "John", 30), new Person(2, "Jane", 25)));
+
+        verify(deleteStatement).setArray(1, idArray);
+        verify(deleteStatement).executeUpdate();
+    }
+
+    @Test
+    void testInsertAllReadsBackIdentityIds() throws SQLException {
+        var connection = mockConnection();
+        var insertStatement = mock(PreparedStatement.class);
+        var generatedKeys = mock(ResultSet.class);
+        when(connection.prepareStatement(anyString(), eq(new String[]{"id"}))).thenReturn(insertStatement);
+        when(insertStatement.getGeneratedKeys()).thenReturn(generatedKeys);
+        when(generatedKeys.next()).thenReturn(true, true, false);
+        when(generatedKeys.getInt(1)).thenReturn(10, 11);
+        when(dataSource.getConnection()).thenReturn(connection);
+        var persistenceContext = new PersistenceContext();
+        var persister = new EntityPersister(dataSource, persistenceContext);
+        var first = new Customer();
+        var second = new Customer();
+        persistenceContext.addEntity(first);
+        persistenceContext.addEntity(second);
+
+        persister.insertAll(List.of(first, second));
+
+        verify(insertStatement, times(2)).addBatch();
+        assertSame(first, persistenceContext.getEntity(new EntityKey<>(10, Customer.class)));
+        assertSame(second, persistenceContext.getEntity(new EntityKey<>(11, Customer.class)));
+    }
+
+    @Test
+    void testBulkInsertCopiesRowsOnPostgreSql() throws SQLException {
+        var connection = mock(Connection.class);
+        var pgConnection = mock(PGConnection.class);
+        var copyManager = mock(CopyManager.class);
+        var copyIn = mock(CopyIn.class);
+        when(connection.isWrapperFor(PGConnection.class)).thenReturn(true);
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        when(pgConnection.getCopyAPI()).thenReturn(copyManager);
+        when(copyManager.copyIn("COPY person(name, age) FROM STDIN WITH (FORMAT csv)")).thenReturn(copyIn);
+        when(copyIn.endCopy()).thenReturn(2L);
+        when(dataSource.getConnection()).thenReturn(connection);
+        var persister = new EntityPersister(dataSource, new PersistenceContext(),
+            SessionFactoryContext.builder().dialect(Dialect.fromUrl("jdbc:postgresql://localhost/test")).build());
+
+        var inserted = persister.bulkInsert(Person.class,
+            List.of(new Person(1, "John \"Jr\"", 30), new Person(2, null, 25)).iterator());
+
+        assertEquals(2L, inserted);
+        var rows = ArgumentCaptor.forClass(byte[].class);
+        verify(copyIn).writeToCopy(rows.capture(), eq(0), anyInt());
+        assertEquals("\"John \"\"Jr\"\"\",30\n,25\n", new String(rows.getValue(), StandardCharsets.UTF_8));
+        verify(connection, never()).prepareStatement(anyString());
+        verify(connection).close();
+    }
+
+    @Test
+    void testBulkInsertFallsBackToBatchedInserts() throws SQLException {
+        var connection = mockConnection();
+        var preparedStatement = connection.prepareStatement("INSERT INTO person(name, age) VALUES(?,?);");
+        when(dataSource.getConnection()).thenReturn(connection);
+        var persister = new EntityPersister(dataSource, new PersistenceContext(),
+            SessionFactoryContext.builder().jdbcBatchSize(2).build());
+
+        var inserted = persister.bulkInsert(Person.class, List.of(new Person(1, "John", 30),
+            new Person(2, "Jane", 25), new Person(3, "Jack", 40)).iterator());
+
+        assertEquals(3L, inserted);
+        verify(preparedStatement, times(3)).addBatch();
+        verify(preparedStatement, times(2)).executeBatch();
+    }
+
+    @Test
+    void testGenerateIdReservesSequenceBlocks() throws SQLException {
+        var connection = mockConnection();
+        var sequenceStatement = mock(PreparedStatement.class);
+        var sequenceValue = mock(ResultSet.class);
+        when(connection.prepareStatement("SELECT NEXT VALUE FOR ticket_id_seq")).thenReturn(sequenceStatement);
+        when(sequenceStatement.executeQuery()).thenReturn(sequenceValue);
+        when(sequenceValue.next()).thenReturn(true);
+        when(sequenceValue.getLong(1)).thenReturn(1L, 3L);
+        when(dataSource.getConnection()).thenReturn(connection);
+        var tickets = List.of(new Ticket(), new Ticket(), new Ticket());
+
+        tickets.forEach(entityPersister::generateId);
+
+        assertEquals(List.of(1L, 2L, 3L), tickets.stream().map(ticket -> ticket.id).toList());
+        verify(sequenceStatement, times(2)).executeQuery();
+    }
+
+    @Test
+    void testFindAllByLoadsManyToOneInBatches() throws Exception {
+        var executedSql = useH2Database("batch_fetch",
+            "CREATE TABLE author(id INTEGER PRIMARY KEY, name VARCHAR(255))",
+            "CREATE TABLE book(id INTEGER PRIMARY KEY, title VARCHAR(255), author_id INTEGER)",
+            "INSERT INTO author VALUES (1, 'Ann'), (2, 'Bob'), (3, 'Cid')",
+            "INSERT INTO book VALUES (1, 'A', 1), (2, 'A', 1), (3, 'A', 2), (4, 'A', 3), (5, 'A', NULL)");
+        var persistenceContext = new PersistenceContext();
+        var cachedAuthor = new Author();
+        cachedAuthor.id = 3;
+        persistenceContext.addEntity(cachedAuthor);
+        var persister = new EntityPersister(dataSource, persistenceContext);
+
+        var books = persister.findAllBy(Book.class, Book.class.getDeclaredField("title"), "A");
+
+        assertEquals(List.of("SELECT * FROM book WHERE title = ?;", "SELECT * FROM author WHERE id IN (?,?);"),
+            executedSql);
+        assertEquals(5, books.size());
+        assertSame(books.get(0).author, books.get(1).author);
+        assertEquals("Bob", books.get(2).author.name);
+        assertSame(cachedAuthor, books.get(3).author);
+        assertNull(books.get(4).author);
+    }
+
+    @Test
+    void testFindAllBySetsLazyProxies() throws Exception {
+        var executedSql = useH2Database("lazy_fetch",
+            "CREATE TABLE author(id INTEGER PRIMARY KEY, name VARCHAR(255))",
+            "CREATE TABLE review(id INTEGER PRIMARY KEY, author_id INTEGER)",
+            "INSERT INTO author VALUES (1, 'Ann')",
+            "INSERT INTO review VALUES (1, 1), (2, 1)");
+        var persistenceContext = new PersistenceContext();
+        var persister = new EntityPersister(dataSource, persistenceContext);
+
+        var reviews = persister.findAllBy(Review.class, Review.class.getDeclaredField("id"), 1);
+        reviews.addAll(persister.findAllBy(Review.class, Review.class.getDeclaredField("id"), 2));
+        var author = reviews.get(0).author;
+
+        assertEquals(List.of("SELECT * FROM review WHERE id = ?;", "SELECT * FROM review WHERE id = ?;"), executedSql);
+        assertSame(author, reviews.get(1).author);
+        assertEquals(1, author.getId());
+        assertEquals(2, executedSql.size());
+        assertEquals("Ann", author.getName());
+        assertEquals("SELECT * FROM author WHERE id = ?;", executedSql.get(2));
+        assertTrue(persistenceContext.getDirtyEntities().isEmpty());
+    }
+
+    @Test
+    void testLazyListsOfSiblingOwnersAreInitializedTogether() throws Exception {
+        var executedSql = useH2Database("collection_batch",
+            "CREATE TABLE shelf(id INTEGER PRIMARY KEY, label VARCHAR(255))",
+            "CREATE TABLE volume(id INTEGER PRIMARY KEY, shelf_id INTEGER)",
+            "INSERT INTO shelf VALUES (1, 'A'), (2, 'A'), (3, 'A')",
+            "INSERT INTO volume VALUES (1, 1), (2, 1), (3, 2)");
+        var persister = new EntityPersister(dataSource, new PersistenceContext());
+
+        var shelves = persister.findAllBy(Shelf.class, Shelf.class.getDeclaredField("label"), "A");
+
+        assertEquals(2, shelves.get(0).volumes.size());
+        assertEquals(1, shelves.get(1).volumes.size());
+        assertTrue(shelves.get(2).volumes.isEmpty());
+        assertSame(shelves.get(0), shelves.get(0).volumes.get(0).shelf);
+        assertEquals(List.of("SELECT * FROM shelf WHERE label = ?;", "SELECT * FROM volume WHERE shelf_id IN (?,?,?,?);"),
+            executedSql);
+    }
+
+    @Test
+    void testFindAllByFetchesJoinedAssociations() throws Exception {
+        var executedSql = useH2Database("join_fetch",
+            "CREATE TABLE shelf(id INTEGER PRIMARY KEY, label VARCHAR(255))",
+            "CREATE TABLE volume(id INTEGER PRIMARY KEY, shelf_id INTEGER)",
+            "INSERT INTO shelf VALUES (1, 'A'), (2, 'A'), (3, 'A')",
+            "INSERT INTO volume VALUES (1, 1), (2, 1), (3, 2)");
+        var persistenceContext = new PersistenceContext();
+        var persister = new EntityPersister(dataSource, persistenceContext);
+        var shelfMetadata = persistenceContext.getMetadataRegistry().getMetadata(Shelf.class);
+        var volumeMetadata = persistenceContext.getMetadataRegistry().getMetadata(Volume.class);
+
+        var shelves = persister.findAllBy(shelfMetadata, shelfMetadata.getAttribute("label"), "A",
+            List.of(shelfMetadata.getAttribute("volumes")));
+        var volume = persister.findById(volumeMetadata, 3, List.of(volumeMetadata.getAttribute("shelf")));
+
+        assertEquals(3, shelves.size());
+        assertEquals(2, shelves.get(0).volumes.size());
+        assertEquals(1, shelves.get(1).volumes.size());
+        assertTrue(shelves.get(2).volumes.isEmpty());
+        assertSame(shelves.get(0), shelves.get(0).volumes.get(0).shelf);
+        assertSame(shelves.get(1).volumes.get(0), volume);
+        assertEquals(1, executedSql.size());
+        assertTrue(executedSql.get(0).contains(" LEFT JOIN volume t1 ON t1.shelf_id = t0.id WHERE t0.label = ?;"));
+        assertTrue(persistenceContext.getDirtyEntities().isEmpty());
+    }
+
+    @Test
+    void testFindAllByFetchesJoinedAssociationsIntoManagedOwners() throws Exception {
+        var executedSql = useH2Database("join_fetch_managed",
+            "CREATE TABLE shelf(id INTEGER PRIMARY KEY, label VARCHAR(255))",
+            "CREATE TABLE volume(id INTEGER PRIMARY KEY, shelf_id INTEGER)",
+            "INSERT INTO shelf VALUES (1, 'A'), (2, 'A')",
+            "INSERT INTO volume VALUES (1, 1), (2, 1), (3, 2)");
+        var persistenceContext = new PersistenceContext();
+        var persister = new EntityPersister(dataSource, persistenceContext);
+        var shelfMetadata = persistenceContext.getMetadataRegistry().getMetadata(Shelf.class);
+        var loadedShelves = persister.findAllBy(Shelf.class, Shelf.class.getDeclaredField("label"), "A");
+        var initializedVolumes = loadedShelves.get(1).volumes;
+        initializedVolumes.size();
+        executedSql.clear();
+
+        var shelves = persister.findAllBy(shelfMetadata, shelfMetadata.getAttribute("label"), "A",
+            List.of(shelfMetadata.getAttribute("volumes")));
+
+        assertSame(loadedShelves.get(0), shelves.get(0));
+        assertSame(loadedShelves.get(1), shelves.get(1));
+        assertSame(initializedVolumes, shelves.get(1).volumes);
+        assertEquals(2, shelves.get(0).volumes.size());
+        assertSame(shelves.get(0), shelves.get(0).volumes.get(0).shelf);
+        assertEquals(1, executedSql.size());
+        assertTrue(persistenceContext.getDirtyEntities().isEmpty());
+    }
+
+    @Test
+    void testFindPageByKeysetAndOffset() throws Exception {
+        var executedSql = useH2Database("paging",
+            "CREATE TABLE shelf(id INTEGER PRIMARY KEY, label VARCHAR(255))",
+            "CREATE TABLE volume(id INTEGER PRIMARY KEY, shelf_id INTEGER)",
+            "INSERT INTO shelf VALUES (5, 'A'), (1, 'A'), (4, 'B'), (2, 'A'), (3, 'A')");
+        var persistenceContext = new PersistenceContext();
+        var persister = new EntityPersister(dataSource, persistenceContext);
+        var metadata = persistenceContext.getMetadataRegistry().getMetadata(Shelf.class);
+        var label = metadata.getAttribute("label");
+
+        var first = persister.findPage(metadata, label, "A", PageRequest.ofKeyset(2));
+        var second = persister.findPage(metadata, label, "A", first.getNextPageRequest());
+        var third = persister.findPage(metadata, null, null, PageRequest.ofOffset(4, 2));
+
+        assertEquals(List.of(1, 2), first.getContent().stream().map(shelf -> shelf.id).toList());
+        assertEquals(2, first.getNextPageRequest().getAfterId());
+        assertEquals(List.of(3, 5), second.getContent().stream().map(shelf -> shelf.id).toList());
+        assertFalse(second.hasNext());
+        assertEquals(List.of(5), third.getContent().stream().map(shelf -> shelf.id).toList());
+        assertFalse(third.hasNext());
+        assertSame(second.getContent().get(1), third.getContent().get(0));
+        assertEquals(List.of("SELECT * FROM shelf WHERE label = ? ORDER BY id FETCH FIRST ? ROWS ONLY;",
+            "SELECT * FROM shelf WHERE label = ? AND id > ? ORDER BY id FETCH FIRST ? ROWS ONLY;",
+            "SELECT * FROM shelf ORDER BY id OFFSET ? ROWS FETCH FIRST ? ROWS ONLY;"), executedSql);
+    }
+
+    @Test
+    void testFindAllByCriteriaReusesSqlOfSameShape() throws Exception {
+        var executedSql = useH2Database("criteria",
+            "CREATE TABLE shelf(id INTEGER PRIMARY KEY, label VARCHAR(255))",
+            "CREATE TABLE volume(id INTEGER PRIMARY KEY, shelf_id INTEGER)",
+            "INSERT INTO shelf VALUES (1, 'A'), (2, 'AB'), (3, 'B'), (4, 'BA')");
+        var persistenceContext = new PersistenceContext();
+        var context = SessionFactoryContext.builder()
+            .metadataRegistry(persistenceContext.getMetadataRegistry())
+            .build();
+        var persister = new EntityPersister(dataSource, persistenceContext, context);
+        var metadata = persistenceContext.getMetadataRegistry().getMetadata(Shelf.class);
+
+        var startingWithA = persister.findAll(metadata, Criteria.forEntity(Shelf.class)
+            .where(Restrictions.or(Restrictions.like("label", "A%"), Restrictions.eq("id", 4)))
+            .orderBy(Order.desc("id"))
+            .limit(2));
+        var startingWithB = persister.findAll(metadata, Criteria.forEntity(Shelf.class)
+            .where(Restrictions.or(Restrictions.like("label", "B%"), Restrictions.eq("id", 1)))
+            .orderBy(Order.desc("id"))
+            .limit(2));
+
+        assertEquals(List.of(4, 2), startingWithA.stream().map(shelf -> shelf.id).toList());
+        assertEquals(List.of(4, 3), startingWithB.stream().map(shelf -> shelf.id).toList());
+        assertEquals(executedSql.get(0), executedSql.get(1));
+        assertEquals(1, context.getSqlStatementCache().getMissCount());
+        assertEquals(1, context.getSqlStatementCache().getHitCount());
+    }
+
+    @Test
+    void testFindAllProjectionsSelectsOnlyTheirColumns() throws Exception {
+        var executedSql = useH2Database("projection",
+            "CREATE TABLE shelf(id INTEGER PRIMARY KEY, label VARCHAR(255))",
+            "CREATE TABLE volume(id INTEGER PRIMARY KEY, shelf_id INTEGER)",
+            "INSERT INTO shelf VALUES (1, 'A'), (2, 'B')",
+            "INSERT INTO volume VALUES (1, 1), (2, 1), (3, 2)");
+        var persistenceContext = new PersistenceContext();
+        var persister = new EntityPersister(dataSource, persistenceContext);
+        var metadata = persistenceContext.getMetadataRegistry().getMetadata(Volume.class);
+
+        var volumes = persister.findAll(metadata, Criteria.forEntity(Volume.class)
+            .where(Restrictions.eq("shelf", 1)), VolumeShelf.class);
+
+        assertEquals(List.of(new VolumeShelf(1, 1), new VolumeShelf(2, 1)), volumes);
+        assertEquals(List.of("SELECT id, shelf_id FROM volume WHERE shelf_id = ?;"), executedSql);
+        assertNull(persistenceContext.getEntity(new EntityKey<>(1, Volume.class)));
+        assertNull(persistenceContext.getEntity(new EntityKey<>(1, Shelf.class)));
+    }
+
+    @Test
+    void testFindAllByIdLoadsOnlyMissesInInputOrder() throws Exception {
+        var executedSql = useH2Database("multi_id",
+            "CREATE TABLE shelf(id INTEGER PRIMARY KEY, label VARCHAR(255))",
+            "CREATE TABLE volume(id INTEGER PRIMARY KEY, shelf_id INTEGER)",
+            "INSERT INTO shelf VALUES (1, 'A'), (2, 'B'), (3, 'C'), (4, 'D')");
+        var persistenceContext = new PersistenceContext();
+        var persister = new EntityPersister(dataSource, persistenceContext);
+        var metadata = persistenceContext.getMetadataRegistry().getMetadata(Shelf.class);
+        var cachedShelf = persister.findById(Shelf.class, 2);
+        executedSql.clear();
+
+        var shelves = persister.findAllById(metadata, Arrays.asList(4, 2, 9, 1, 4, null));
+
+        assertEquals(6, shelves.size());
+        assertEquals(4, shelves.get(0).id);
+        assertSame(cachedShelf, shelves.get(1));
+        assertNull(shelves.get(2));
+        assertEquals(1, shelves.get(3).id);
+        assertSame(shelves.get(0), shelves.get(4));
+        assertNull(shelves.get(5));
+        assertEquals(List.of("SELECT * FROM shelf WHERE id IN (?,?,?,?);"), executedSql);
+    }
+
+    @Test
+    void testNativeQueryHydratesManagedOrReadOnlyEntities() throws Exception {
+        useH2Database("native_query",
+            "CREATE TABLE shelf(id INTEGER PRIMARY KEY, label VARCHAR(255))",
+            "CREATE TABLE volume(id INTEGER PRIMARY KEY, shelf_id INTEGER)",
+            "INSERT INTO shelf VALUES (1, 'A'), (2, 'B')",
+            "INSERT INTO volume VALUES (1, 1), (2, 1), (3, 2)");
+        var persistenceContext = new PersistenceContext();
+        var context = SessionFactoryContext.builder()
+            .metadataRegistry(persistenceContext.getMetadataRegistry())
+            .build();
+        var persister = new EntityPersister(dataSource, persistenceContext, context);
+        var metadata = persistenceContext.getMetadataRegistry().getMetadata(Volume.class);
+        var sql = "SELECT v.shelf_id, v.id FROM volume v JOIN shelf s ON s.id = v.shelf_id "
+            + "WHERE s.label = ? ORDER BY v.id";
+
+        var readOnly = persister.findAllByNativeQuery(metadata, sql, List.of("A"), true);
+        var plans = context.getHydrationPlanCache().size();
+        var managed = persister.findAllByNativeQuery(metadata, sql, List.of("B"), false);
+
+        assertEquals(List.of(1, 2), readOnly.stream().map(volume -> volume.id).toList());
+        assertNull(persistenceContext.getEntity(new EntityKey<>(1, Volume.class)));
+        assertEquals(1, readOnly.get(0).shelf.id);
+        assertSame(managed.get(0), persistenceContext.getEntity(new EntityKey<>(3, Volume.class)));
+        assertEquals(2, managed.get(0).shelf.id);
+        assertEquals(plans, context.getHydrationPlanCache().size());
+    }
+
+    @Test
+    void testFindAllByIdConvertsIdsToIdType() throws Exception {
+        useH2Database("multi_id_long",
+            "CREATE TABLE shelf(id INTEGER PRIMARY KEY, label VARCHAR(255))",
+            "CREATE TABLE volume(id INTEGER PRIMARY KEY, shelf_id INTEGER)",
+            "INSERT INTO shelf VALUES (1, 'A'), (2, 'B')");
+        var persistenceContext = new PersistenceContext();
+        var persister = new EntityPersister(dataSource, persistenceContext);
+        var metadata = persistenceContext.getMetadataRegistry().getMetadata(Shelf.class);
+        var cachedShelf = persister.findById(Shelf.class, 1);
+
+        var shelves = persister.findAllById(metadata, List.of(1L, 2L));
+
+        assertSame(cachedShelf, shelves.get(0));
+        assertEquals(2, shelves.get(1).id);
+    }
+
+    @Test
+    void testStreamResolvesAssociationsPerChunk() throws Exception {
+        var executedSql = useH2Database("stream_chunks",
+            "CREATE TABLE shelf(id INTEGER PRIMARY KEY, label VARCHAR(255))",
+            "CREATE TABLE volume(id INTEGER PRIMARY KEY, shelf_id INTEGER)",
+            "INSERT INTO shelf VALUES (1, 'A'), (2, 'B')",
+            "INSERT INTO volume VALUES (1, 1), (2, 1), (3, 2)");
+        var persistenceContext = new PersistenceContext();
+        var persister = new EntityPersister(dataSource, persistenceContext);
+        var metadata = persistenceContext.getMetadataRegistry().getMetadata(Volume.class);
+
+        List<Volume> volumes;
+        try (var stream = persister.stream(metadata, null, null,
+            StreamOptions.builder().fetchSize(2).detach(true).build())) {
+            volumes = stream.toList();
+        }
+
+        assertEquals(3, volumes.size());
+        assertSame(volumes.get(0).shelf, volumes.get(1).shelf);
+        assertEquals(2, volumes.get(2).shelf.id);
+        assertNull(persistenceContext.getEntity(new EntityKey<>(1, Volume.class)));
+        assertSame(volumes.get(0).shelf, persistenceContext.getEntity(new EntityKey<>(1, Shelf.class)));
+        assertEquals(List.of("SELECT * FROM volume;", "SELECT * FROM shelf WHERE id IN (?);",
+            "SELECT * FROM shelf WHERE id IN (?);"), executedSql);
+    }
+
+    @Test
+    void testStreamUsesCursorInTransactionOnPostgreSql() throws Exception {
+        var connection = mock(Connection.class);
+        var statement = mock(PreparedStatement.class);
+        var resultSet = mockResultSet(new Person(1, "John", 30));
+        when(connection.getAutoCommit()).thenReturn(true);
+        when(connection.prepareStatement("SELECT * FROM person WHERE name = ?;", ResultSet.TYPE_FORWARD_ONLY,
+            ResultSet.CONCUR_READ_ONLY)).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        when(dataSource.getConnection()).thenReturn(connection);
+        var persistenceContext = new PersistenceContext();
+        var persister = new EntityPersister(dataSource, persistenceContext, SessionFactoryContext.builder()
+            .dialect(Dialect.fromUrl("jdbc:postgresql://localhost/test")).fetchSize(50).build());
+        var metadata = persistenceContext.getMetadataRegistry().getMetadata(Person.class);
+
+        try (var stream = persister.stream(metadata, metadata.getAttribute("name"), "John",
+            StreamOptions.defaults())) {
+            assertEquals("John", stream.findFirst().orElseThrow().getName());
+            verify(connection).setAutoCommit(false);
+            verify(statement).setFetchSize(50);
+        }
+
+        verify(connection).commit();
+        verify(connection).setAutoCommit(true);
+        verify(connection).close();
+        assertEquals(1, persistenceContext.getEntity(new EntityKey<>(1, Person.class)).getId());
+    }
+
     @Test
     void testFindById() throws Exception {
         var entity = new Person(1, "John Doe", 30);
@@ -153,12 +667,110 @@ class EntityPersisterTest {
         return connection;
     }
 
-    private <T> ResultSet mockResultSet(T entity) throws SQLException {
+    /**
+     * Points the mocked data source to a new in-memory H2 database and records the prepared statements
+     */
+    private List<String> useH2Database(String name, String... statements) throws SQLException {
+        var h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:%s;DB_CLOSE_DELAY=-1".formatted(name));
+        try (var connection = h2.getConnection(); var statement = connection.createStatement()) {
+            for (var sql : statements) {
+                statement.execute(sql);
+            }
+        }
+        var executedSql = new ArrayList<String>();
+        when(dataSource.getConnection()).thenAnswer(invocation -> {
+            var connection = spy(h2.getConnection());
+            doAnswer(call -> {
+                executedSql.add(call.getArgument(0));
+                return call.callRealMethod();
+            }).when(connection).prepareStatement(anyString());
+            doAnswer(call -> {
+                executedSql.add(call.getArgument(0));
+                return call.callRealMethod();
+            }).when(connection).prepareStatement(anyString(), anyInt(), anyInt());
+            return connection;
+        });
+        return executedSql;
+    }
+
+    private ResultSet mockResultSet(Person person) throws SQLException {
         var resultSet = mock(ResultSet.class);
+        var metaData = mock(ResultSetMetaData.class);
+        when(resultSet.getMetaData()).thenReturn(metaData);
+        when(metaData.getColumnCount()).thenReturn(3);
+        when(metaData.getColumnLabel(1)).thenReturn("id");
+        when(metaData.getColumnLabel(2)).thenReturn("name");
+        when(metaData.getColumnLabel(3)).thenReturn("age");
         when(resultSet.next()).thenReturn(true, false);
-        Person person = (Person) entity;
-        when(resultSet.getObject(anyString())).thenReturn(1, person.getName(), person.getAge());
+        when(resultSet.getInt(1)).thenReturn(person.getId());
+        when(resultSet.getString(2)).thenReturn(person.getName());
+        when(resultSet.getInt(3)).thenReturn(person.getAge());
         return resultSet;
     }
-}
 
+    @Entity
+    @Table(name = "ticket")
+    static class Ticket {
+        @Id
+        @GeneratedValue(strategy = GenerationType.SEQUENCE, allocationSize = 2)
+        Long id;
+    }
+
+    @Entity
+    @Table(name = "author")
+    @Getter
+    static class Author {
+        @Id
+        Integer id;
+        @Column(name = "name")
+        String name;
+    }
+
+    @Entity
+    @Table(name = "book")
+    static class Book {
+        @Id
+        Integer id;
+        @Column(name = "title")
+        String title;
+        @Column(name = "author_id")
+        @ManyToOne
+        @BatchSize(size = 2)
+        Author author;
+    }
+
+    @Entity
+    @Table(name = "review")
+    static class Review {
+        @Id
+        Integer id;
+        @Column(name = "author_id")
+        @ManyToOne(fetch = FetchType.LAZY)
+        Author author;
+    }
+
+    @Entity
+    @Table(name = "shelf")
+    static class Shelf {
+        @Id
+        Integer id;
+        @Column(name = "label")
+        String label;
+        @OneToMany
+        List<Volume> volumes;
+    }
+
+    record VolumeShelf(Integer id, Integer shelf) {
+    }
+
+    @Entity
+    @Table(name = "volume")
+    static class Volume {
+        @Id
+        Integer id;
+        @Column(name = "shelf_id")
+        @ManyToOne
+        Shelf shelf;
+    }
+}
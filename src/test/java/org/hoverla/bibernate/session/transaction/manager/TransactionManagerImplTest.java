@@ -14,6 +14,8 @@ import java.sql.Connection;
 import java.sql.SQLException;
 
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class TransactionManagerImplTest {
@@ -63,6 +65,26 @@ class TransactionManagerImplTest {
         Assertions.assertThrows(IllegalStateException.class, () -> transactionManager.get());
     }
 
+    @Test
+    void testCommitReleasesConnection() throws SQLException {
+        transactionManager.begin();
+        transactionManager.get();
+
+        transactionManager.commit();
+
+        verify(connection).commit();
+        verify(connection).close();
+        Assertions.assertDoesNotThrow(() -> transactionManager.begin());
+    }
+
+    @Test
+    void testConnectionIsKeptOpenUntilCommit() throws SQLException {
+        transactionManager.begin();
+
+        Assertions.assertSame(transactionManager.get(), transactionManager.get());
+        verify(connection, never()).close();
+    }
+
     @Test
     void testCommitWithoutTransaction() {
         Assertions.assertThrows(IllegalStateException.class, () -> transactionManager.commit());
@@ -0,0 +1,74 @@
+package org.hoverla.bibernate.sql;
+
+import org.hoverla.bibernate.dialect.PostgreSqlDialect;
+import org.hoverla.bibernate.fixtures.Person;
+import org.hoverla.bibernate.metadata.EntityMetadata;
+import org.hoverla.bibernate.metadata.MetadataRegistry;
+import org.hoverla.bibernate.query.Criteria;
+import org.hoverla.bibernate.query.Restrictions;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SqlStatementCacheTest {
+
+    private SqlStatementCache sqlStatementCache;
+    private EntityMetadata<Person> metadata;
+
+    @BeforeEach
+    void setUp() {
+        sqlStatementCache = new SqlStatementCache();
+        metadata = new MetadataRegistry().getMetadata(Person.class);
+    }
+
+    @Test
+    void testGeneratedStatements() {
+        Assertions.assertEquals("INSERT INTO person(name, age) VALUES(?,?);", sqlStatementCache.getInsertSql(metadata));
+        Assertions.assertEquals("UPDATE person SET name = ?, age = ? WHERE id = ? ;",
+            sqlStatementCache.getUpdateByIdSql(metadata));
+        Assertions.assertEquals("DELETE FROM person WHERE id = ?;", sqlStatementCache.getDeleteByIdSql(metadata));
+        Assertions.assertEquals("SELECT * FROM person WHERE name = ?;",
+            sqlStatementCache.getSelectByColumnSql(metadata, metadata.getAttribute("name")));
+    }
+
+    @Test
+    void testStatementIsBuiltOnce() {
+        var sql = sqlStatementCache.getInsertSql(metadata);
+        var cachedSql = sqlStatementCache.getInsertSql(metadata);
+
+        Assertions.assertSame(sql, cachedSql);
+        Assertions.assertEquals(1, sqlStatementCache.getMissCount());
+        Assertions.assertEquals(1, sqlStatementCache.getHitCount());
+    }
+
+    @Test
+    void testSelectsAreCachedPerColumn() {
+        sqlStatementCache.getSelectByColumnSql(metadata, metadata.getAttribute("name"));
+        sqlStatementCache.getSelectByColumnSql(metadata, metadata.getAttribute("age"));
+        sqlStatementCache.getSelectByColumnSql(metadata, metadata.getAttribute("name"));
+
+        Assertions.assertEquals(2, sqlStatementCache.size());
+        Assertions.assertEquals(2, sqlStatementCache.getMissCount());
+        Assertions.assertEquals(1, sqlStatementCache.getHitCount());
+    }
+
+    @Test
+    void testCriteriaStatementsAreBounded() {
+        var boundedCache = new SqlStatementCache(2);
+        var dialect = new PostgreSqlDialect();
+        var byName = Criteria.forEntity(Person.class).where(Restrictions.eq("name", "Anna"));
+        var byAge = Criteria.forEntity(Person.class).where(Restrictions.eq("age", 30));
+        var byNameAndAge = Criteria.forEntity(Person.class)
+            .where(Restrictions.and(Restrictions.eq("name", "Anna"), Restrictions.eq("age", 30)));
+
+        boundedCache.getCriteriaSql(metadata, byName, dialect);
+        boundedCache.getCriteriaSql(metadata, byAge, dialect);
+        boundedCache.getCriteriaSql(metadata, byName, dialect);
+        boundedCache.getCriteriaSql(metadata, byNameAndAge, dialect);
+        boundedCache.getCriteriaSql(metadata, byAge, dialect);
+
+        Assertions.assertEquals(2, boundedCache.size());
+        Assertions.assertEquals(4, boundedCache.getMissCount());
+        Assertions.assertEquals(1, boundedCache.getHitCount());
+    }
+}
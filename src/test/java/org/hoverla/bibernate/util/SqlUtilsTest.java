@@ -1,9 +1,16 @@
 package org.hoverla.bibernate.util;
 
+import org.hoverla.bibernate.demo.Customer;
+import org.hoverla.bibernate.demo.Project;
+import org.hoverla.bibernate.dialect.GenericDialect;
+import org.hoverla.bibernate.dialect.PostgreSqlDialect;
 import org.hoverla.bibernate.fixtures.Person;
+import org.hoverla.bibernate.metadata.MetadataRegistry;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 class SqlUtilsTest {
 
     @Test
@@ -23,4 +30,55 @@ class SqlUtilsTest {
         String result = SqlUtils.getCommaSeparatedUpdatableColumns(Person.class);
         Assertions.assertEquals("name = ?, age = ?", result);
     }
+
+    @Test
+    void testBuildMultiRowInsertSql() {
+        var metadata = new MetadataRegistry().getMetadata(Person.class);
+        Assertions.assertEquals("INSERT INTO person(name, age) VALUES(?,?),(?,?),(?,?);",
+            SqlUtils.buildMultiRowInsertSql(metadata, 3));
+    }
+
+    @Test
+    void testBuildDeleteByIdsSql() {
+        var metadata = new MetadataRegistry().getMetadata(Person.class);
+        Assertions.assertEquals("DELETE FROM person WHERE id IN (?,?);", SqlUtils.buildDeleteByIdsSql(metadata, 2));
+        Assertions.assertEquals("DELETE FROM person WHERE id = ANY(?);", SqlUtils.buildDeleteByIdArraySql(metadata));
+    }
+
+    @Test
+    void testBuildSelectPageSql() {
+        var metadata = new MetadataRegistry().getMetadata(Person.class);
+        var generic = new GenericDialect();
+        var postgreSql = new PostgreSqlDialect();
+        Assertions.assertEquals("SELECT * FROM person ORDER BY id FETCH FIRST ? ROWS ONLY;",
+            SqlUtils.buildSelectPageSql(metadata, null, false, generic.getLimitClause()));
+        Assertions.assertEquals("SELECT * FROM person WHERE name = ? ORDER BY id OFFSET ? ROWS FETCH FIRST ? ROWS ONLY;",
+            SqlUtils.buildSelectPageSql(metadata, metadata.getAttribute("name"), false,
+                generic.getLimitOffsetClause()));
+        Assertions.assertEquals("SELECT * FROM person WHERE name = ? AND id > ? ORDER BY id LIMIT ?;",
+            SqlUtils.buildSelectPageSql(metadata, metadata.getAttribute("name"), true, postgreSql.getLimitClause()));
+        Assertions.assertEquals("SELECT * FROM person ORDER BY id OFFSET ? LIMIT ?;",
+            SqlUtils.buildSelectPageSql(metadata, null, false, postgreSql.getLimitOffsetClause()));
+    }
+
+    @Test
+    void testBuildSelectWithJoinsSql() {
+        var registry = new MetadataRegistry();
+        var project = registry.getMetadata(Project.class);
+        var customer = registry.getMetadata(Customer.class);
+        var customerAttribute = project.getAttribute("customer");
+
+        Assertions.assertEquals("SELECT t0.id AS t0_id, t0.project_name AS t0_project_name, "
+                + "t0.customer_id AS t0_customer_id, t1.id AS t1_id, t1.first_name AS t1_first_name, "
+                + "t1.last_name AS t1_last_name, t1.email AS t1_email, t1.created_at AS t1_created_at "
+                + "FROM project t0 LEFT JOIN customer t1 ON t1.id = t0.customer_id WHERE t0.id = ?;",
+            SqlUtils.buildSelectWithJoinsSql(project, project.getIdAttribute(), List.of(customerAttribute),
+                List.of(customer)));
+        Assertions.assertEquals("SELECT t0.id AS t0_id, t0.first_name AS t0_first_name, "
+                + "t0.last_name AS t0_last_name, t0.email AS t0_email, t0.created_at AS t0_created_at, "
+                + "t1.id AS t1_id, t1.project_name AS t1_project_name, t1.customer_id AS t1_customer_id "
+                + "FROM customer t0 LEFT JOIN project t1 ON t1.customer_id = t0.id WHERE t0.email = ?;",
+            SqlUtils.buildSelectWithJoinsSql(customer, customer.getAttribute("email"),
+                List.of(customer.getAttribute("projects")), List.of(project)));
+    }
 }